@@ -0,0 +1,257 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.network;
+
+import com.powsybl.iidm.network.Network;
+import org.gridsuite.computation.utils.MessageUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-process LRU cache of loaded networks, keyed by network UUID.
+ * <p>
+ * A cached network is lent to one run at a time: {@link #borrow} hands it over exclusively (a concurrent run on the
+ * same network loads its own instance), and {@link #release} puts it back once the run is over. Runs on different
+ * variants can therefore share an instance, each one setting its own working variant while it holds it.
+ * Only computations that leave the network unmodified should use it.
+ * <p>
+ * Entries are weighted by the count of equipments loaded into them, added by each borrower with {@link #addWeight}
+ * for the ones it fetched, and evicted in least recently used order when the total weight exceeds the limit, or when
+ * they were loaded longer than the time to live ago. {@link #invalidate} drops a network that has been modified, and must be fed with
+ * the network modification messages through {@link #consumeInvalidation}.
+ */
+public class NetworkCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkCache.class);
+
+    private static final String NETWORK_UUID_HEADER = "networkUuid";
+
+    private final long maxWeight;
+    private final long defaultWeight;
+    private final long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+
+    // access ordered : iteration starts from the least recently used entry
+    private final LinkedHashMap<UUID, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // networks currently lent to a run, or being loaded for a run
+    private final List<Lease> leases = new ArrayList<>();
+    private long totalWeight;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private record CacheEntry(Network network, long weight, long loadTimeNanos) { }
+
+    private static final class Lease {
+        private final UUID networkUuid;
+        private Network network;
+        // null until weighed
+        private Long weight;
+        private long loadTimeNanos;
+        private boolean invalidated;
+
+        private Lease(UUID networkUuid, Network network, Long weight, long loadTimeNanos) {
+            this.networkUuid = networkUuid;
+            this.network = network;
+            this.weight = weight;
+            this.loadTimeNanos = loadTimeNanos;
+        }
+    }
+
+    /**
+     * @param defaultWeight weight of the networks none of whose borrowers added a weight
+     */
+    public NetworkCache(long maxWeight, long defaultWeight, Duration timeToLive) {
+        this(maxWeight, defaultWeight, timeToLive, System::nanoTime);
+    }
+
+    public NetworkCache(long maxWeight, long defaultWeight, Duration timeToLive, LongSupplier nanoClock) {
+        this.maxWeight = maxWeight;
+        this.defaultWeight = defaultWeight;
+        this.timeToLiveNanos = Objects.requireNonNull(timeToLive).toNanos();
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+    }
+
+    public Network borrow(UUID networkUuid, Supplier<Network> loader) {
+        return borrow(networkUuid, loader, network -> true);
+    }
+
+    /**
+     * Get the cached network, or load it when it is not cached, expired or already lent to another run.
+     * The returned network must be given back with {@link #release} when the run is over.
+     * @param isUsable tells whether the cached network can serve the run, e.g. has its variant : an unusable one is
+     *                 evicted and reloaded
+     */
+    public Network borrow(UUID networkUuid, Supplier<Network> loader, Predicate<Network> isUsable) {
+        Network cachedNetwork = borrowCached(networkUuid);
+        if (cachedNetwork != null) {
+            // the lent network is not shared, test it outside the lock
+            if (isUsable.test(cachedNetwork)) {
+                hitCount.incrementAndGet();
+                return cachedNetwork;
+            }
+            synchronized (this) {
+                removeLease(cachedNetwork);
+            }
+            evictionCount.incrementAndGet();
+            LOGGER.debug("Cached network {} is outdated, reloading it", networkUuid);
+        }
+        Lease lease;
+        synchronized (this) {
+            missCount.incrementAndGet();
+            lease = new Lease(networkUuid, null, null, 0);
+            leases.add(lease);
+        }
+        // load outside the lock, other networks stay available meanwhile
+        Network network;
+        try {
+            network = loader.get();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                leases.remove(lease);
+            }
+            throw e;
+        }
+        synchronized (this) {
+            lease.network = network;
+            lease.loadTimeNanos = nanoClock.getAsLong();
+        }
+        return network;
+    }
+
+    private synchronized Network borrowCached(UUID networkUuid) {
+        CacheEntry entry = entries.remove(networkUuid);
+        if (entry == null) {
+            return null;
+        }
+        totalWeight -= entry.weight();
+        if (isExpired(entry)) {
+            evictionCount.incrementAndGet();
+            return null;
+        }
+        leases.add(new Lease(networkUuid, entry.network(), entry.weight(), entry.loadTimeNanos()));
+        return entry.network();
+    }
+
+    /**
+     * Add to the weight of a lent network the count of equipments its borrower fetched into it, which stay loaded
+     * for the next borrowers. Weighing must not load anything : networks never weighed get the default weight.
+     */
+    public synchronized void addWeight(Network network, long weight) {
+        leases.stream().filter(lease -> lease.network == network)
+                .forEach(lease -> lease.weight = lease.weight == null ? weight : lease.weight + weight);
+    }
+
+    /**
+     * Give back a network obtained with {@link #borrow}, which becomes available for the next runs.
+     * Networks that were not lent by this cache, or invalidated in the meantime, are ignored.
+     */
+    public synchronized void release(UUID networkUuid, Network network) {
+        Lease lease = removeLease(network);
+        long weight = lease == null || lease.weight == null ? defaultWeight : lease.weight;
+        if (lease == null || lease.invalidated || !lease.networkUuid.equals(networkUuid) || weight > maxWeight) {
+            return;
+        }
+        CacheEntry previous = entries.put(networkUuid, new CacheEntry(network, weight, lease.loadTimeNanos));
+        if (previous != null) {
+            totalWeight -= previous.weight();
+        }
+        totalWeight += weight;
+        evict();
+    }
+
+    /**
+     * Drop a network from the cache, e.g. after it has been modified. Instances currently lent are not put back.
+     */
+    public synchronized void invalidate(UUID networkUuid) {
+        leases.stream().filter(lease -> lease.networkUuid.equals(networkUuid)).forEach(lease -> lease.invalidated = true);
+        CacheEntry entry = entries.remove(networkUuid);
+        if (entry != null) {
+            totalWeight -= entry.weight();
+            LOGGER.debug("Network {} invalidated in cache", networkUuid);
+        }
+    }
+
+    /**
+     * Invalidate the network identified by the networkUuid header of the received messages
+     */
+    public Consumer<Message<String>> consumeInvalidation() {
+        return message -> invalidate(UUID.fromString(MessageUtils.getNonNullHeader(message.getHeaders(), NETWORK_UUID_HEADER)));
+    }
+
+    public synchronized void invalidateAll() {
+        leases.forEach(lease -> lease.invalidated = true);
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized Set<UUID> getCachedNetworkUuids() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(entries.keySet()));
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private Lease removeLease(Network network) {
+        Iterator<Lease> iterator = leases.iterator();
+        while (iterator.hasNext()) {
+            Lease lease = iterator.next();
+            if (lease.network == network) {
+                iterator.remove();
+                return lease;
+            }
+        }
+        return null;
+    }
+
+    private boolean isExpired(CacheEntry entry) {
+        return nanoClock.getAsLong() - entry.loadTimeNanos() > timeToLiveNanos;
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<UUID, CacheEntry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            CacheEntry entry = iterator.next().getValue();
+            if (totalWeight > maxWeight || isExpired(entry)) {
+                iterator.remove();
+                totalWeight -= entry.weight();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.network;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.messaging.Message;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Provides a {@link NetworkCache} to the workers when computation.network-cache.enabled is set, and the
+ * {@value #INVALIDATION_FUNCTION_NAME} function dropping the modified networks from it. The cache is refused when
+ * this function is not bound, cached networks would be served stale.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "computation.network-cache.enabled", havingValue = "true")
+@EnableConfigurationProperties(NetworkCacheProperties.class)
+public class NetworkCacheAutoConfiguration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkCacheAutoConfiguration.class);
+    private static final String METRICS_PREFIX = "app.computation.network.cache.";
+    public static final String INVALIDATION_FUNCTION_NAME = "consumeNetworkCacheInvalidation";
+
+    @Bean
+    public NetworkCache networkCache(NetworkCacheProperties properties, ObjectProvider<MeterRegistry> meterRegistry, Environment environment) {
+        checkInvalidationBound(environment);
+        LOGGER.info("Configuring network cache with {} equipments max and a time to live of {}", properties.maxEquipments(), properties.timeToLive());
+        NetworkCache networkCache = new NetworkCache(properties.maxEquipments(), properties.defaultNetworkEquipments(), properties.timeToLive());
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder(METRICS_PREFIX + "requests", networkCache, NetworkCache::getHitCount).tag("result", "hit").register(registry);
+            FunctionCounter.builder(METRICS_PREFIX + "requests", networkCache, NetworkCache::getMissCount).tag("result", "miss").register(registry);
+            FunctionCounter.builder(METRICS_PREFIX + "evictions", networkCache, NetworkCache::getEvictionCount).register(registry);
+            Gauge.builder(METRICS_PREFIX + "equipments", networkCache, NetworkCache::getTotalWeight).register(registry);
+        });
+        return networkCache;
+    }
+
+    @Bean(INVALIDATION_FUNCTION_NAME)
+    public Consumer<Message<String>> consumeNetworkCacheInvalidation(NetworkCache networkCache) {
+        return networkCache.consumeInvalidation();
+    }
+
+    private static void checkInvalidationBound(Environment environment) {
+        String definition = environment.getProperty("spring.cloud.function.definition", "");
+        boolean defined = Arrays.stream(definition.split("[;|]")).map(String::trim).anyMatch(INVALIDATION_FUNCTION_NAME::equals);
+        String destinationProperty = "spring.cloud.stream.bindings." + INVALIDATION_FUNCTION_NAME + "-in-0.destination";
+        if (!defined || !environment.containsProperty(destinationProperty)) {
+            throw new IllegalStateException("The network cache requires " + INVALIDATION_FUNCTION_NAME
+                    + " in spring.cloud.function.definition and " + destinationProperty + " set to the network modification destination");
+        }
+    }
+}
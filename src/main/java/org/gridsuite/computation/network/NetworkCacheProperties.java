@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.network;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Enabling the cache requires the network modification messages to be consumed : the
+ * {@value NetworkCacheAutoConfiguration#INVALIDATION_FUNCTION_NAME} function must be listed in
+ * spring.cloud.function.definition, and its input bound to the network modification destination.
+ *
+ * @param enabled whether loaded networks are kept between runs
+ * @param maxEquipments maximum number of equipments of all the cached networks
+ * @param defaultNetworkEquipments equipments counted for a network whose loaded equipments are unknown, i.e. used by
+ *                                 a worker that does not declare its network data requirements
+ * @param timeToLive maximum time a network is kept in cache after its last use
+ */
+@ConfigurationProperties(prefix = "computation.network-cache")
+public record NetworkCacheProperties(boolean enabled,
+                                     @DefaultValue("1000000") long maxEquipments,
+                                     @DefaultValue("100000") long defaultNetworkEquipments,
+                                     @DefaultValue("30m") Duration timeToLive) { }
@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.network;
+
+import com.powsybl.iidm.network.Identifiable;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.network.store.client.PreloadingStrategy;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Network data a computation actually reads, declared by its worker so that only these collections are fetched
+ * from the network store.
+ * <p>
+ * The network is loaded with the {@link PreloadingStrategy#NONE} strategy, then the declared collections are fetched
+ * in bulk, one request per collection : the other collections are neither requested nor kept in memory. They are
+ * still reachable, fetched lazily on access, and these fetches are counted per collection so that an incomplete
+ * declaration can be completed, see {@code NetworkStoreFetchRecorder}. Declaring the bus view loads all the
+ * collections needed to compute buses in a single pass.
+ */
+public final class NetworkDataRequirements {
+
+    private static final Map<IdentifiableType, Function<Network, Stream<? extends Identifiable<?>>>> COLLECTION_LOADERS = new EnumMap<>(IdentifiableType.class);
+
+    static {
+        COLLECTION_LOADERS.put(IdentifiableType.SUBSTATION, Network::getSubstationStream);
+        COLLECTION_LOADERS.put(IdentifiableType.VOLTAGE_LEVEL, Network::getVoltageLevelStream);
+        COLLECTION_LOADERS.put(IdentifiableType.SWITCH, Network::getSwitchStream);
+        COLLECTION_LOADERS.put(IdentifiableType.BUSBAR_SECTION, Network::getBusbarSectionStream);
+        COLLECTION_LOADERS.put(IdentifiableType.LINE, Network::getLineStream);
+        COLLECTION_LOADERS.put(IdentifiableType.TIE_LINE, Network::getTieLineStream);
+        COLLECTION_LOADERS.put(IdentifiableType.TWO_WINDINGS_TRANSFORMER, Network::getTwoWindingsTransformerStream);
+        COLLECTION_LOADERS.put(IdentifiableType.THREE_WINDINGS_TRANSFORMER, Network::getThreeWindingsTransformerStream);
+        COLLECTION_LOADERS.put(IdentifiableType.GENERATOR, Network::getGeneratorStream);
+        COLLECTION_LOADERS.put(IdentifiableType.BATTERY, Network::getBatteryStream);
+        COLLECTION_LOADERS.put(IdentifiableType.LOAD, Network::getLoadStream);
+        COLLECTION_LOADERS.put(IdentifiableType.SHUNT_COMPENSATOR, Network::getShuntCompensatorStream);
+        COLLECTION_LOADERS.put(IdentifiableType.DANGLING_LINE, Network::getDanglingLineStream);
+        COLLECTION_LOADERS.put(IdentifiableType.STATIC_VAR_COMPENSATOR, Network::getStaticVarCompensatorStream);
+        COLLECTION_LOADERS.put(IdentifiableType.HVDC_CONVERTER_STATION, Network::getHvdcConverterStationStream);
+        COLLECTION_LOADERS.put(IdentifiableType.HVDC_LINE, Network::getHvdcLineStream);
+        COLLECTION_LOADERS.put(IdentifiableType.GROUND, Network::getGroundStream);
+    }
+
+    /**
+     * No declaration : the worker preloading strategy applies, every accessed collection is fully fetched
+     */
+    public static final NetworkDataRequirements ALL = new NetworkDataRequirements(null, false);
+
+    private final Set<IdentifiableType> collections;
+    private final boolean busView;
+
+    private NetworkDataRequirements(Set<IdentifiableType> collections, boolean busView) {
+        this.collections = collections;
+        this.busView = busView;
+    }
+
+    public static NetworkDataRequirements of(IdentifiableType... collections) {
+        Set<IdentifiableType> types = EnumSet.noneOf(IdentifiableType.class);
+        for (IdentifiableType type : collections) {
+            if (!COLLECTION_LOADERS.containsKey(type)) {
+                throw new IllegalArgumentException("Unsupported network collection " + type);
+            }
+            types.add(type);
+        }
+        return new NetworkDataRequirements(Collections.unmodifiableSet(types), false);
+    }
+
+    public NetworkDataRequirements withBusView() {
+        if (isAll()) {
+            return this;
+        }
+        return new NetworkDataRequirements(collections, true);
+    }
+
+    public boolean isAll() {
+        return collections == null;
+    }
+
+    public boolean isBusView() {
+        return busView;
+    }
+
+    public Set<IdentifiableType> getCollections() {
+        return isAll() ? COLLECTION_LOADERS.keySet() : collections;
+    }
+
+    /**
+     * @param defaultStrategy strategy used when nothing has been declared
+     */
+    public PreloadingStrategy getPreloadingStrategy(PreloadingStrategy defaultStrategy) {
+        if (isAll()) {
+            return Objects.requireNonNull(defaultStrategy);
+        }
+        // only the declared collections are fetched, by preload
+        return busView ? PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW : PreloadingStrategy.NONE;
+    }
+
+    /**
+     * Fetch the declared collections of the working variant of a network loaded with {@link #getPreloadingStrategy}
+     * @return the number of preloaded equipments for each collection
+     */
+    public Map<IdentifiableType, Long> preload(Network network) {
+        Map<IdentifiableType, Long> counts = new EnumMap<>(IdentifiableType.class);
+        if (!isAll()) {
+            collections.forEach(type -> counts.put(type, COLLECTION_LOADERS.get(type).apply(network).count()));
+        }
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return isAll() ? "ALL" : collections + (busView ? " + BUS_VIEW" : "");
+    }
+}
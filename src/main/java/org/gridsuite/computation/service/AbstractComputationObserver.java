@@ -6,17 +6,26 @@
  */
 package org.gridsuite.computation.service;
 
+import com.powsybl.iidm.network.IdentifiableType;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.observation.Observation;
 import io.micrometer.observation.ObservationRegistry;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Mathieu Deharbe <mathieu.deharbe at rte-france.com>
@@ -29,14 +38,124 @@ public abstract class AbstractComputationObserver<R, P> {
     protected static final String PROVIDER_TAG_NAME = "provider";
     protected static final String TYPE_TAG_NAME = "type";
     protected static final String STATUS_TAG_NAME = "status";
+    protected static final String COLLECTION_TAG_NAME = "collection";
+    protected static final String REASON_TAG_NAME = "reason";
+    protected static final String PHASE_TAG_NAME = "phase";
     protected static final String COMPUTATION_TOTAL_COUNTER_NAME = OBSERVATION_PREFIX + "count";
     protected static final String COMPUTATION_CURRENT_COUNTER_NAME = OBSERVATION_PREFIX + "current.count";
+    protected static final String NETWORK_PRELOADED_EQUIPMENTS_NAME = OBSERVATION_PREFIX + "network.preloaded.equipments";
+    protected static final String NETWORK_LAZY_FETCHES_NAME = OBSERVATION_PREFIX + "network.lazy.fetches";
+    protected static final String CANCELLATION_STOP_LATENCY_NAME = OBSERVATION_PREFIX + "cancellation.stop.latency";
+    protected static final String PHASE_DURATION_NAME = OBSERVATION_PREFIX + "phase.duration";
+    protected static final String QUEUE_WAIT_NAME = OBSERVATION_PREFIX + "queue.wait";
+    protected static final String QUEUE_WAIT_LAST_NAME = OBSERVATION_PREFIX + "queue.wait.last";
+    protected static final String RUNNING_COUNT_NAME = OBSERVATION_PREFIX + "running.count";
+    protected static final String RUNNING_PHASE_COUNT_NAME = OBSERVATION_PREFIX + "running.phase.count";
+    protected static final String RUNNING_OLDEST_ELAPSED_NAME = OBSERVATION_PREFIX + "running.oldest.elapsed";
+    protected static final String CANCEL_REQUESTS_NAME = OBSERVATION_PREFIX + "cancel.requests";
+    protected static final String CANCEL_REQUESTS_DROPPED_NAME = OBSERVATION_PREFIX + "cancel.requests.dropped";
+    protected static final String CPU_TIME_NAME = OBSERVATION_PREFIX + "cpu.time";
+    protected static final String ALLOCATED_BYTES_NAME = OBSERVATION_PREFIX + "allocated.bytes";
+    protected static final String SUPERSEDED_NAME = OBSERVATION_PREFIX + "superseded";
+    protected static final String REPORT_TRIMMED_NODES_NAME = OBSERVATION_PREFIX + "report.trimmed.nodes";
+    protected static final double[] PHASE_PERCENTILES = {0.5, 0.95, 0.99};
+    protected static final Duration[] PHASE_SERVICE_LEVEL_OBJECTIVES = {
+        Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5),
+        Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15)
+    };
     private static final String UNKNOWN_PROVIDER = "unknown-provider";
 
     private final ObservationRegistry observationRegistry;
     private final MeterRegistry meterRegistry;
 
-    private final Map<String, Integer> currentComputationsCount = new ConcurrentHashMap<>();
+    // meters registered once per provider, then looked up without registry access nor allocation
+    @Getter(AccessLevel.NONE)
+    private final Map<String, ProviderMeters> providerMeters = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<IdentifiableType, DistributionSummary> preloadedEquipmentSummaries = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<IdentifiableType, Counter> lazyFetchCounters = new ConcurrentHashMap<>();
+    @Getter(AccessLevel.NONE)
+    private volatile Timer queueWaitTimer;
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong lastQueueWaitMillis = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean runRegistryObserved = new AtomicBoolean();
+    @Getter(AccessLevel.NONE)
+    private volatile CancelRequestRegistry observedCancelRequests;
+    @Getter(AccessLevel.NONE)
+    private final Map<String, Counter> reportTrimmedCounters = new ConcurrentHashMap<>();
+
+    private final class ProviderMeters {
+        private final String provider;
+        private final AtomicLong currentCount = new AtomicLong();
+        private final Timer[] phaseTimers = new Timer[ComputationPhase.values().length];
+        private final Map<String, Counter> totalCounters = new ConcurrentHashMap<>();
+        private final Map<CancellationToken.Reason, Timer> cancellationStopTimers = new ConcurrentHashMap<>();
+        private volatile Counter supersededCounter;
+        private final DistributionSummary cpuTimeSummary;
+        private final DistributionSummary allocatedBytesSummary;
+
+        private ProviderMeters(String provider) {
+            this.provider = provider;
+            cpuTimeSummary = DistributionSummary.builder(CPU_TIME_NAME)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(PROVIDER_TAG_NAME, provider)
+                    .baseUnit("seconds")
+                    .publishPercentiles(PHASE_PERCENTILES)
+                    .register(meterRegistry);
+            allocatedBytesSummary = DistributionSummary.builder(ALLOCATED_BYTES_NAME)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(PROVIDER_TAG_NAME, provider)
+                    .baseUnit("bytes")
+                    .publishPercentiles(PHASE_PERCENTILES)
+                    .register(meterRegistry);
+            Gauge.builder(COMPUTATION_CURRENT_COUNTER_NAME, currentCount, AtomicLong::get)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(PROVIDER_TAG_NAME, provider)
+                    .register(meterRegistry);
+            for (ComputationPhase phase : ComputationPhase.values()) {
+                phaseTimers[phase.ordinal()] = Timer.builder(PHASE_DURATION_NAME)
+                        .tag(TYPE_TAG_NAME, getComputationType())
+                        .tag(PROVIDER_TAG_NAME, provider)
+                        .tag(PHASE_TAG_NAME, phase.getTagValue())
+                        .publishPercentiles(PHASE_PERCENTILES)
+                        .serviceLevelObjectives(getPhaseServiceLevelObjectives())
+                        .register(meterRegistry);
+            }
+        }
+
+        private Counter getTotalCounter(String status) {
+            Counter counter = totalCounters.get(status);
+            return counter != null ? counter : totalCounters.computeIfAbsent(status, s -> Counter.builder(COMPUTATION_TOTAL_COUNTER_NAME)
+                    .tag(PROVIDER_TAG_NAME, provider)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(STATUS_TAG_NAME, s)
+                    .register(meterRegistry));
+        }
+
+        private Timer getCancellationStopTimer(CancellationToken.Reason reason) {
+            Timer timer = cancellationStopTimers.get(reason);
+            return timer != null ? timer : cancellationStopTimers.computeIfAbsent(reason, r -> Timer.builder(CANCELLATION_STOP_LATENCY_NAME)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(PROVIDER_TAG_NAME, provider)
+                    .tag(REASON_TAG_NAME, r.name())
+                    .register(meterRegistry));
+        }
+
+        private Counter getSupersededCounter() {
+            Counter counter = supersededCounter;
+            if (counter == null) {
+                // registering twice concurrently returns the same counter
+                counter = Counter.builder(SUPERSEDED_NAME)
+                        .tag(TYPE_TAG_NAME, getComputationType())
+                        .tag(PROVIDER_TAG_NAME, provider)
+                        .register(meterRegistry);
+                supersededCounter = counter;
+            }
+            return counter;
+        }
+    }
 
     protected AbstractComputationObserver(@NonNull ObservationRegistry observationRegistry, @NonNull MeterRegistry meterRegistry) {
         this.observationRegistry = observationRegistry;
@@ -62,41 +181,214 @@ public abstract class AbstractComputationObserver<R, P> {
     public <T extends R, E extends Throwable> T observeRun(
             String name, AbstractComputationRunContext<P> runContext, Observation.CheckedCallable<T, E> callable) throws E {
         T result;
-        String provider = runContext.getProvider() != null ? runContext.getProvider() : UNKNOWN_PROVIDER;
+        ProviderMeters meters = getProviderMeters(runContext);
         try {
-            incrementCurrentCount(provider);
+            meters.currentCount.incrementAndGet();
             result = createObservation(name, runContext).observeChecked(callable);
         } finally {
-            decrementCurrentCount(provider);
+            meters.currentCount.decrementAndGet();
         }
-        incrementTotalCount(provider, result);
+        meters.getTotalCounter(getResultStatus(result)).increment();
         return result;
     }
 
-    private void incrementCurrentCount(String provider) {
-        currentComputationsCount.compute(provider, (k, v) -> (v == null) ? 1 : v + 1);
-        updateCurrentCountMetric(provider);
+    /**
+     * Time a phase of a run, so that the phase dominating the run duration can be identified.
+     * Durations are published with percentiles and service level objective buckets, tagged by computation type,
+     * provider and phase, whether the phase succeeds or fails.
+     * The phase is also recorded as a {@link ComputationPhaseEvent} when the event is enabled in a flight recording.
+     */
+    public <T, E extends Throwable> T observePhase(ComputationPhase phase, AbstractComputationRunContext<P> runContext, Observation.CheckedCallable<T, E> callable) throws E {
+        ComputationPhaseEvent event = new ComputationPhaseEvent();
+        event.begin();
+        long startTime = System.nanoTime();
+        AbstractComputationRunContext.PhaseProgress outerPhase = runContext.getPhaseProgress();
+        AbstractComputationRunContext.PhaseProgress phaseProgress = new AbstractComputationRunContext.PhaseProgress(phase, startTime, Thread.currentThread());
+        runContext.setPhaseProgress(phaseProgress);
+        try {
+            return callable.call();
+        } finally {
+            // unless replaced meanwhile by a phase run concurrently, e.g. a pre-run task
+            if (runContext.getPhaseProgress() == phaseProgress) {
+                runContext.setPhaseProgress(outerPhase);
+            }
+            recordPhase(phase, runContext, System.nanoTime() - startTime, event);
+        }
+    }
+
+    public <E extends Throwable> void observePhase(ComputationPhase phase, AbstractComputationRunContext<P> runContext, Observation.CheckedRunnable<E> runnable) throws E {
+        observePhase(phase, runContext, () -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * Service level objectives of the phase durations, override to match the computation
+     */
+    protected Duration[] getPhaseServiceLevelObjectives() {
+        return PHASE_SERVICE_LEVEL_OBJECTIVES;
     }
 
-    private void decrementCurrentCount(String provider) {
-        currentComputationsCount.compute(provider, (k, v) -> v > 1 ? v - 1 : 0);
-        updateCurrentCountMetric(provider);
+    private void recordPhase(ComputationPhase phase, AbstractComputationRunContext<P> runContext, long durationNanos, ComputationPhaseEvent event) {
+        getProviderMeters(runContext).phaseTimers[phase.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+        event.end();
+        // false unless the event is enabled in a running recording, the fields are then left unset
+        if (event.shouldCommit()) {
+            event.phase = phase.getTagValue();
+            event.resultUuid = Objects.toString(runContext.getResultUuid(), null);
+            event.computationType = getComputationType();
+            event.provider = runContext.getProvider() != null ? runContext.getProvider() : UNKNOWN_PROVIDER;
+            event.networkUuid = Objects.toString(runContext.getNetworkUuid(), null);
+            event.commit();
+        }
     }
 
-    private void updateCurrentCountMetric(String provider) {
-        Gauge.builder(COMPUTATION_CURRENT_COUNTER_NAME, () -> currentComputationsCount.get(provider))
-            .tag(TYPE_TAG_NAME, getComputationType())
-            .tag(PROVIDER_TAG_NAME, provider)
-            .register(meterRegistry);
+    private ProviderMeters getProviderMeters(AbstractComputationRunContext<P> runContext) {
+        String provider = runContext.getProvider() != null ? runContext.getProvider() : UNKNOWN_PROVIDER;
+        ProviderMeters meters = providerMeters.get(provider);
+        return meters != null ? meters : providerMeters.computeIfAbsent(provider, ProviderMeters::new);
     }
 
-    private void incrementTotalCount(String provider, R result) {
-        Counter.builder(COMPUTATION_TOTAL_COUNTER_NAME)
-                .tag(PROVIDER_TAG_NAME, provider)
+    /**
+     * Expose the runs in progress of a worker : their count, per phase too, and the age of the oldest one
+     */
+    public void observeRunRegistry(ComputationRunRegistry runRegistry) {
+        if (runRegistryObserved.get() || !runRegistryObserved.compareAndSet(false, true)) {
+            return;
+        }
+        Gauge.builder(RUNNING_COUNT_NAME, runRegistry, ComputationRunRegistry::getRunningComputationCount)
                 .tag(TYPE_TAG_NAME, getComputationType())
-                .tag(STATUS_TAG_NAME, getResultStatus(result))
-                .register(meterRegistry)
-                .increment();
+                .register(meterRegistry);
+        for (ComputationPhase phase : ComputationPhase.values()) {
+            Gauge.builder(RUNNING_PHASE_COUNT_NAME, runRegistry, registry -> registry.getRunningComputationCount(phase))
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(PHASE_TAG_NAME, phase.getTagValue())
+                    .register(meterRegistry);
+        }
+        Gauge.builder(RUNNING_OLDEST_ELAPSED_NAME, runRegistry, registry -> registry.getOldestElapsed().toMillis() / 1000d)
+                .tag(TYPE_TAG_NAME, getComputationType())
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expose the count of cancel requests kept by a worker, and the count of requests dropped by cause
+     */
+    public void observeCancelRequests(CancelRequestRegistry cancelRequests) {
+        if (observedCancelRequests == cancelRequests) {
+            return;
+        }
+        synchronized (this) {
+            if (observedCancelRequests != null) {
+                // the gauges of a previous registry would keep their value
+                return;
+            }
+            Gauge.builder(CANCEL_REQUESTS_NAME, cancelRequests, CancelRequestRegistry::size)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .register(meterRegistry);
+            FunctionCounter.builder(CANCEL_REQUESTS_DROPPED_NAME, cancelRequests, CancelRequestRegistry::getExpiredCount)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(REASON_TAG_NAME, "expired")
+                    .register(meterRegistry);
+            FunctionCounter.builder(CANCEL_REQUESTS_DROPPED_NAME, cancelRequests, CancelRequestRegistry::getEvictedCount)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .tag(REASON_TAG_NAME, "evicted")
+                    .register(meterRegistry);
+            observedCancelRequests = cancelRequests;
+        }
+    }
+
+    /**
+     * Record the CPU time and the heap allocations of a run, to compare the cost of the computation types and providers
+     */
+    public void observeResourceUsage(AbstractComputationRunContext<P> runContext, ComputationResourceUsage.Snapshot usage) {
+        ProviderMeters meters = getProviderMeters(runContext);
+        meters.cpuTimeSummary.record(usage.cpuTimeNanos() / 1e9);
+        meters.allocatedBytesSummary.record(usage.allocatedBytes());
+    }
+
+    /**
+     * Record the time a run message waited in the queue before being picked up by this worker.
+     * The histogram buckets are published so that the latency can be aggregated over all the workers, e.g. by an
+     * autoscaler, and the last wait is exposed as a gauge.
+     */
+    public void observeQueueWait(Duration wait) {
+        Timer timer = queueWaitTimer;
+        if (timer == null) {
+            Gauge.builder(QUEUE_WAIT_LAST_NAME, lastQueueWaitMillis, millis -> millis.get() / 1000d)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            timer = Timer.builder(QUEUE_WAIT_NAME)
+                    .tag(TYPE_TAG_NAME, getComputationType())
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(getPhaseServiceLevelObjectives())
+                    .register(meterRegistry);
+            queueWaitTimer = timer;
+        }
+        lastQueueWaitMillis.set(wait.toMillis());
+        timer.record(wait);
+    }
+
+    /**
+     * Count the runs skipped because a newer run with the same supersede key has been requested
+     */
+    public void observeSuperseded(AbstractComputationRunContext<P> runContext) {
+        getProviderMeters(runContext).getSupersededCounter().increment();
+    }
+
+    /**
+     * Count the report nodes aggregated or dropped by the {@link ReportGovernor}
+     */
+    public void observeReportTrimmed(long aggregatedNodes, long droppedNodes) {
+        if (aggregatedNodes > 0) {
+            getReportTrimmedCounter("aggregated").increment(aggregatedNodes);
+        }
+        if (droppedNodes > 0) {
+            getReportTrimmedCounter("dropped").increment(droppedNodes);
+        }
+    }
+
+    private Counter getReportTrimmedCounter(String reason) {
+        Counter counter = reportTrimmedCounters.get(reason);
+        return counter != null ? counter : reportTrimmedCounters.computeIfAbsent(reason, r -> Counter.builder(REPORT_TRIMMED_NODES_NAME)
+                .tag(TYPE_TAG_NAME, getComputationType())
+                .tag(REASON_TAG_NAME, r)
+                .register(meterRegistry));
+    }
+
+    /**
+     * Record the equipment count of each collection declared by the worker and fetched when loading the network,
+     * to compare with the collections actually read by the computation
+     */
+    public void observeNetworkPreload(Map<IdentifiableType, Long> preloadedEquipmentCounts) {
+        preloadedEquipmentCounts.forEach((collection, count) -> preloadedEquipmentSummaries
+                .computeIfAbsent(collection, c -> DistributionSummary.builder(NETWORK_PRELOADED_EQUIPMENTS_NAME)
+                        .tag(TYPE_TAG_NAME, getComputationType())
+                        .tag(COLLECTION_TAG_NAME, c.name())
+                        .register(meterRegistry))
+                .record(count));
+    }
+
+    /**
+     * Count the fetches of the collections not preloaded made by a run after the load of its network, a collection
+     * often fetched should be declared in the network data requirements of the worker
+     */
+    public void observeNetworkLazyFetches(Map<IdentifiableType, Long> fetchCounts) {
+        fetchCounts.forEach((collection, count) -> lazyFetchCounters
+                .computeIfAbsent(collection, c -> Counter.builder(NETWORK_LAZY_FETCHES_NAME)
+                        .tag(TYPE_TAG_NAME, getComputationType())
+                        .tag(COLLECTION_TAG_NAME, c.name())
+                        .register(meterRegistry))
+                .increment(count));
+    }
+
+    /**
+     * Record the time between the cancellation of a run and the moment its computation noticed it and stopped
+     */
+    public void observeCancellationStop(AbstractComputationRunContext<P> runContext, CancellationToken.Reason reason, Duration latency) {
+        getProviderMeters(runContext).getCancellationStopTimer(reason).record(latency);
     }
 
     protected abstract String getResultStatus(R res);
@@ -23,6 +23,15 @@ public abstract class AbstractComputationResultService<S> {
 
     public abstract S findStatus(UUID resultUuid);
 
+    /**
+     * Whether the result is already saved, so that a redelivered run message only resumes the result notification
+     * instead of computing it again, e.g. when a worker died after saving the result. Never the case by default.
+     */
+    public boolean isResultComplete(UUID resultUuid) {
+        // to override by subclasses
+        return false;
+    }
+
     // --- Must implement these following methods if a computation server supports s3 storage --- //
     public void saveDebugFileLocation(UUID resultUuid, String debugFilePath) {
         // to override by subclasses
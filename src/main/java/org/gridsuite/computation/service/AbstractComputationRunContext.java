@@ -8,6 +8,7 @@ package org.gridsuite.computation.service;
 
 import com.powsybl.commons.report.ReportNode;
 import com.powsybl.iidm.network.Network;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.gridsuite.computation.dto.ReportInfos;
@@ -22,7 +23,17 @@ import java.util.UUID;
 @Getter
 @Setter
 public abstract class AbstractComputationRunContext<P> {
+
+    /**
+     * Phase in progress, set by {@link AbstractComputationObserver#observePhase}
+     * @param startNanos {@link System#nanoTime()} at the start of the phase
+     * @param thread thread running the phase
+     */
+    record PhaseProgress(ComputationPhase phase, long startNanos, Thread thread) {
+    }
+
     private final UUID networkUuid;
+    private UUID resultUuid;
     private final String variantId;
     private final String receiver;
     private final ReportInfos reportInfos;
@@ -33,6 +44,17 @@ public abstract class AbstractComputationRunContext<P> {
     private Network network;
     private Boolean debug;
     private Path debugDir;
+    private final CancellationToken cancellationToken = new CancellationToken();
+    private final ComputationResourceUsage resourceUsage = new ComputationResourceUsage();
+    /**
+     * Optional key of the runs made obsolete by a newer run with the same key, e.g. the receiver and the computation
+     * type : a run superseded before being started is skipped. Requires a {@link CancellationRegistry}.
+     */
+    private String supersedeKey;
+    private ReportFlusher reportFlusher;
+    @Getter(AccessLevel.PACKAGE)
+    @Setter(AccessLevel.PACKAGE)
+    private volatile PhaseProgress phaseProgress;
 
     protected AbstractComputationRunContext(UUID networkUuid, String variantId, String receiver, ReportInfos reportInfos,
                                             String userId, String provider, P parameters) {
@@ -49,6 +71,7 @@ public abstract class AbstractComputationRunContext<P> {
         this.provider = provider;
         this.parameters = parameters;
         this.reportNode = ReportNode.NO_OP;
+        this.reportFlusher = new ReportFlusher(ReportNode.NO_OP);
         this.network = null;
         this.debug = debug;
     }
@@ -38,6 +38,11 @@ public abstract class AbstractResultContext<C extends AbstractComputationRunCont
 
     public static final String REPORT_TYPE_HEADER = "reportType";
 
+    /**
+     * Epoch millis at which the run message was built, to measure the time it waits in the queue
+     */
+    public static final String PUBLISH_TIMESTAMP_HEADER = "publishTimestamp";
+
     protected static final String MESSAGE_ROOT_NAME = "parameters";
 
     private final UUID resultUuid;
@@ -46,6 +51,7 @@ public abstract class AbstractResultContext<C extends AbstractComputationRunCont
     protected AbstractResultContext(UUID resultUuid, C runContext) {
         this.resultUuid = Objects.requireNonNull(resultUuid);
         this.runContext = Objects.requireNonNull(runContext);
+        runContext.setResultUuid(resultUuid);
     }
 
     public Message<String> toMessage(ObjectMapper objectMapper) {
@@ -68,6 +74,8 @@ public abstract class AbstractResultContext<C extends AbstractComputationRunCont
                 .setHeader(REPORTER_ID_HEADER, runContext.getReportInfos().reporterId())
                 .setHeader(REPORT_TYPE_HEADER, runContext.getReportInfos().computationType())
                 .setHeader(HEADER_DEBUG, runContext.getDebug())
+                .setHeader(PUBLISH_TIMESTAMP_HEADER, System.currentTimeMillis())
+                .setHeader(HEADER_SUPERSEDE_KEY, runContext.getSupersedeKey())
                 .copyHeaders(getSpecificMsgHeaders(objectMapper))
                 .build();
     }
@@ -18,10 +18,17 @@ import com.powsybl.ws.commons.ZipUtils;
 import com.powsybl.ws.commons.error.PowsyblWsProblemDetail;
 import com.powsybl.ws.commons.error.ServerNameProvider;
 import org.apache.commons.lang3.StringUtils;
+import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.error.ComputationRunException;
+import org.gridsuite.computation.network.NetworkCache;
+import org.gridsuite.computation.network.NetworkDataRequirements;
 import org.gridsuite.computation.s3.ComputationS3Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.lang.Nullable;
@@ -30,22 +37,34 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import static org.gridsuite.computation.s3.ComputationS3Service.S3_DELIMITER;
 import static org.gridsuite.computation.s3.ComputationS3Service.S3_SERVICE_NOT_AVAILABLE_MESSAGE;
+import static org.gridsuite.computation.service.NotificationService.HEADER_ALLOCATED_BYTES;
+import static org.gridsuite.computation.service.NotificationService.HEADER_CPU_TIME_MS;
 import static org.gridsuite.computation.service.NotificationService.HEADER_ERROR_MESSAGE;
 
 /**
@@ -57,24 +76,82 @@ import static org.gridsuite.computation.service.NotificationService.HEADER_ERROR
  */
 public abstract class AbstractWorkerService<R, C extends AbstractComputationRunContext<P>, P, S extends AbstractComputationResultService<?>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractWorkerService.class);
+    private static final int DEFAULT_MAX_CANCEL_REQUESTS = 10_000;
+    private static final Duration DEFAULT_CANCEL_REQUEST_TIME_TO_LIVE = Duration.ofHours(1);
+    // chunk writers of the result sinks when the execution service provides no IO pool, e.g. when it is mocked
+    private static final ThreadFactory RESULT_SINK_THREAD_FACTORY = Thread.ofVirtual().name("computation-result-sink-", 0).factory();
 
     @Value("${powsybl-ws.s3.subpath.prefix:}${debug-subpath:debug}")
     private String debugRootPath;
 
-    protected final Lock lockRunAndCancel = new ReentrantLock();
+    // cooperative deadline of the computations, none when empty
+    @Value("${computation.run.timeout:}")
+    private Duration runTimeout;
+
+    // closed report sections sent while running at most once per period, see ReportFlusher, none when empty
+    @Value("${computation.report.flush-period:}")
+    private Duration reportFlushPeriod;
+
+    // result items persisted together by the chunk writers of the result sinks
+    @Value("${computation.result-sink.chunk-size:1000}")
+    private int resultChunkSize = 1000;
+
+    @Value("${computation.result-sink.max-pending-chunks:2}")
+    private int maxPendingResultChunks = 2;
+
+    // CPU time and allocated bytes of the run added to the result message
+    @Value("${computation.resource-usage.result-headers:false}")
+    private boolean resourceUsageHeaders;
+
+    // a run message delivered twice is computed by a single worker at once, requires a cancellation registry
+    @Value("${computation.run-lease.enabled:false}")
+    private boolean runLease;
+
+    // a delivery of a run leased by another delivery is rejected to the dead letter queue of the run binding, which
+    // puts it back after its TTL, instead of being requeued at once
+    @Value("${computation.run-lease.dead-letter-requeue:false}")
+    private boolean runLeaseDeadLetterRequeue;
+
     protected final ObjectMapper objectMapper;
     protected final NetworkStoreService networkStoreService;
     protected final ReportService reportService;
     protected final ExecutionService executionService;
     protected final NotificationService notificationService;
     protected final AbstractComputationObserver<R, P> observer;
-    protected final Map<UUID, CompletableFuture<R>> futures = new ConcurrentHashMap<>();
-    protected final Map<UUID, CancelContext> cancelComputationRequests = new ConcurrentHashMap<>();
+    protected final Map<UUID, ComputationRunHandle<R>> runHandles = new ConcurrentHashMap<>();
+    /**
+     * @deprecated runs are tracked by {@link #runHandles}, this view of their computation futures is kept for the
+     * workers overriding {@link #runAsync} : a future put here is started on the handle of its run.
+     */
+    @Deprecated(since = "2.6.0", forRemoval = true)
+    protected final Map<UUID, CompletableFuture<R>> futures = new RunHandleFutures<>(runHandles);
+    /**
+     * @deprecated runs and cancellations are arbitrated by {@link ComputationRunHandle} without lock, this lock is no
+     * longer taken by the library and only kept for the workers still using it.
+     */
+    @Deprecated(since = "2.6.0", forRemoval = true)
+    protected final Lock lockRunAndCancel = new ReentrantLock();
+    /**
+     * Cancel requests of the runs not received yet. Formerly a {@code Map<UUID, CancelContext>} : its get, put and
+     * remove methods are kept, requests are now bounded in count and time, see {@link #configureCancelRequests}.
+     */
+    protected final CancelRequestRegistry cancelComputationRequests = new CancelRequestRegistry(DEFAULT_MAX_CANCEL_REQUESTS, DEFAULT_CANCEL_REQUEST_TIME_TO_LIVE);
+    private final Map<UUID, Queue<ResultSink<?>>> resultSinks = new ConcurrentHashMap<>();
+    private final ComputationRunRegistry runRegistry = new ComputationRunRegistry();
+    private CancellationRegistry cancellationRegistry;
+    private String workerId;
     protected final S resultService;
     protected final ServerNameProvider serverNameProvider;
 
     protected final ComputationS3Service computationS3Service;
 
+    protected NetworkCache networkCache;
+
+    private NetworkPrefetcher networkPrefetcher;
+
+    private ReportOutbox reportOutbox;
+    private ReportGovernor reportGovernor;
+
     protected AbstractWorkerService(NetworkStoreService networkStoreService,
                                     NotificationService notificationService,
                                     ReportService reportService,
@@ -106,21 +183,139 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
         this.serverNameProvider = serverNameProvider;
     }
 
+    @Autowired(required = false)
+    public void setNetworkCache(NetworkCache networkCache) {
+        this.networkCache = networkCache;
+    }
+
+    /**
+     * Let the stall watchdog check the runs in progress, and cancel them as a cancel request would if configured so
+     */
+    @Autowired(required = false)
+    public void setStallWatchdog(StallWatchdog stallWatchdog) {
+        stallWatchdog.watch(getComputationType(), runRegistry, this::cancelAsync);
+    }
+
+    /**
+     * Share the runs in progress and the cancel requests with the other workers of the computation, so that a cancel
+     * message consumed by any worker reaches the worker running the result
+     */
+    @Autowired(required = false)
+    public void setCancellationRegistry(CancellationRegistry cancellationRegistry) {
+        this.cancellationRegistry = cancellationRegistry;
+        this.workerId = getComputationType() + "@" + ManagementFactory.getRuntimeMXBean().getName() + "#" + System.identityHashCode(this);
+        cancellationRegistry.addCancelListener(workerId, this::cancelLocally);
+    }
+
+    /**
+     * Deliver the reports asynchronously, the runs do not wait for the report server
+     */
+    @Autowired(required = false)
+    public void setReportOutbox(ReportOutbox reportOutbox) {
+        this.reportOutbox = reportOutbox;
+    }
+
+    /**
+     * Trim the reports beyond the limits of the computation type before sending them, see {@link ReportGovernor}
+     */
+    @Autowired(required = false)
+    public void setReportGovernorProperties(ReportGovernorProperties reportGovernorProperties) {
+        this.reportGovernor = new ReportGovernor(reportGovernorProperties.getLimits(getComputationType()));
+    }
+
+    /**
+     * Bound the cancel requests kept for the runs not received yet. The time to live must exceed the time a run
+     * message may wait in the queue, a run whose cancel request has expired is not prevented.
+     */
+    @Autowired
+    public void configureCancelRequests(@Value("${computation.cancel-requests.max-size:10000}") int maxSize,
+                                        @Value("${computation.cancel-requests.time-to-live:1h}") Duration timeToLive) {
+        cancelComputationRequests.configure(maxSize, timeToLive);
+    }
+
+    /**
+     * Overlap the network loading of upcoming run messages with the runs in progress.
+     * When enabled, the run binding concurrency must be set to maxConcurrentRuns + maxPrefetchedNetworks :
+     * the extra consumers hold the upcoming messages, load their network and wait for a run slot.
+     */
+    @Autowired
+    public void configureNetworkPrefetch(@Value("${computation.network-prefetch.enabled:false}") boolean enabled,
+                                         @Value("${computation.network-prefetch.max-concurrent-runs:1}") int maxConcurrentRuns,
+                                         @Value("${computation.network-prefetch.max-prefetched-networks:1}") int maxPrefetchedNetworks) {
+        this.networkPrefetcher = enabled ? new NetworkPrefetcher(maxConcurrentRuns, maxPrefetchedNetworks) : null;
+    }
+
+    /**
+     * @return the runs in progress in this worker
+     */
+    public ComputationRunRegistry getRunRegistry() {
+        return runRegistry;
+    }
+
     protected PreloadingStrategy getNetworkPreloadingStrategy() {
         return PreloadingStrategy.COLLECTION;
     }
 
+    /**
+     * Whether the computation leaves the network unmodified, so that a loaded network can be reused by the next runs
+     * when a {@link NetworkCache} is configured. Computations writing their results into the network must not.
+     */
+    protected boolean isNetworkReusable() {
+        return false;
+    }
+
+    private boolean isNetworkCacheUsed() {
+        return networkCache != null && isNetworkReusable();
+    }
+
+    /**
+     * Declare the equipment collections and views read by the computation, so that these are fetched when the
+     * network is loaded, the other ones being fetched by collection on access. By default nothing is declared and
+     * {@link #getNetworkPreloadingStrategy()} applies.
+     */
+    protected NetworkDataRequirements getNetworkDataRequirements() {
+        return NetworkDataRequirements.ALL;
+    }
+
     protected Network getNetwork(UUID networkUuid, String variantId) {
         try {
-            Network network = networkStoreService.getNetwork(networkUuid, getNetworkPreloadingStrategy());
+            NetworkDataRequirements requirements = getNetworkDataRequirements();
+            PreloadingStrategy preloadingStrategy = requirements.getPreloadingStrategy(getNetworkPreloadingStrategy());
             String variant = StringUtils.isBlank(variantId) ? VariantManagerConstants.INITIAL_VARIANT_ID : variantId;
-            network.getVariantManager().setWorkingVariant(variant);
-            return network;
+            if (!isNetworkCacheUsed()) {
+                Network network = networkStoreService.getNetwork(networkUuid, preloadingStrategy);
+                network.getVariantManager().setWorkingVariant(variant);
+                preloadNetwork(requirements, network);
+                return network;
+            }
+            // a cached network misses the variants created since it was loaded
+            Network network = networkCache.borrow(networkUuid, () -> networkStoreService.getNetwork(networkUuid, preloadingStrategy),
+                    cachedNetwork -> cachedNetwork.getVariantManager().getVariantIds().contains(variant));
+            try {
+                network.getVariantManager().setWorkingVariant(variant);
+                preloadNetwork(requirements, network);
+                return network;
+            } catch (RuntimeException e) {
+                networkCache.release(networkUuid, network);
+                throw e;
+            }
         } catch (PowsyblException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
         }
     }
 
+    private void preloadNetwork(NetworkDataRequirements requirements, Network network) {
+        if (!requirements.isAll()) {
+            observer.observeNetworkPreload(requirements.preload(network));
+        }
+    }
+
+    private void releaseNetwork(UUID networkUuid, Network network) {
+        if (isNetworkCacheUsed()) {
+            networkCache.release(networkUuid, network);
+        }
+    }
+
     protected void cleanResultsAndPublishCancel(UUID resultUuid, String receiver) {
         resultService.delete(resultUuid);
         notificationService.publishStop(resultUuid, receiver, getComputationType());
@@ -132,21 +327,30 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
     }
 
     private boolean cancelAsync(CancelContext cancelContext) {
-        lockRunAndCancel.lock();
-        boolean isCanceled = false;
-        try {
-            cancelComputationRequests.put(cancelContext.resultUuid(), cancelContext);
-
-            // find the completableFuture associated with result uuid
-            CompletableFuture<R> future = futures.get(cancelContext.resultUuid());
-            if (future != null) {
-                isCanceled = future.cancel(true);  // cancel computation in progress
-                if (isCanceled) {
-                    cleanResultsAndPublishCancel(cancelContext.resultUuid(), cancelContext.receiver());
-                }
+        if (cancelLocally(cancelContext)) {
+            return true;
+        }
+        if (cancellationRegistry == null) {
+            return false;
+        }
+        // delivered to the worker running the result, or seen by the worker receiving its run message
+        cancellationRegistry.requestCancel(cancelContext);
+        return cancellationRegistry.getRunOwner(cancelContext.resultUuid()).filter(owner -> !owner.equals(workerId)).isPresent();
+    }
+
+    private boolean cancelLocally(CancelContext cancelContext) {
+        // recorded first : a run registering its handle concurrently either is found below or finds this request
+        cancelComputationRequests.put(cancelContext.resultUuid(), cancelContext);
+
+        // find the run handle associated with result uuid
+        ComputationRunHandle<R> runHandle = runHandles.get(cancelContext.resultUuid());
+        boolean isCanceled = runHandle != null && runHandle.cancel(); // cancel pending run or computation in progress
+        if (isCanceled) {
+            abortResultSinks(cancelContext.resultUuid()); // nothing streamed is persisted after the results deletion
+            if (networkPrefetcher != null) {
+                networkPrefetcher.cancel(cancelContext.resultUuid()); // drop network prefetch of a waiting run
             }
-        } finally {
-            lockRunAndCancel.unlock();
+            cleanResultsAndPublishCancel(cancelContext.resultUuid(), cancelContext.receiver());
         }
         return isCanceled;
     }
@@ -163,39 +367,236 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
 
     private void handleRunMessage(Message<String> message) {
         AbstractResultContext<C> resultContext = fromMessage(message);
+        if (resultContext.getRunContext().getSupersedeKey() == null) {
+            resultContext.getRunContext().setSupersedeKey(message.getHeaders().get(NotificationService.HEADER_SUPERSEDE_KEY, String.class));
+        }
+        observeQueueWait(message);
+        // the tasks submitted to the executors while handling the run are accounted to it
+        resultContext.getRunContext().getResourceUsage().measure(() -> handleRun(resultContext));
+    }
+
+    private void handleRun(AbstractResultContext<C> resultContext) {
+        if (isSuperseded(resultContext)) {
+            // skipped before loading anything, the receiver is notified as for a cancelled run
+            observer.observeSuperseded(resultContext.getRunContext());
+            LOGGER.info("{} run superseded by a newer run, skipped (resultUuid='{}')", getComputationType(), resultContext.getResultUuid());
+            cleanResultsAndPublishCancel(resultContext.getResultUuid(), resultContext.getRunContext().getReceiver());
+            return;
+        }
         AtomicReference<ReportNode> rootReporter = new AtomicReference<>(ReportNode.NO_OP);
+        // only the delivery owning the run cleans it, not a duplicate delivery of a run in progress
+        boolean runOwned = false;
+        boolean requeued = false;
+        boolean skipped = false;
+        boolean runSlotAcquired = false;
+        AtomicBoolean resultSaveDeferred = new AtomicBoolean();
+        PreRunTasks preRunTasks = null;
         try {
-            Network network = getNetwork(resultContext.getRunContext().getNetworkUuid(),
-                    resultContext.getRunContext().getVariantId());
+            executionService.checkAdmission();
+            // a cancel request recorded from now on is delivered to this worker
+            if (cancellationRegistry != null && !registerRunOwner(resultContext.getResultUuid())) {
+                throw requeueLeasedRun(resultContext.getResultUuid());
+            }
+            runOwned = true;
+            if (resultService.isResultComplete(resultContext.getResultUuid())) {
+                // redelivered message of a run whose result was saved but maybe not notified
+                skipped = true;
+                LOGGER.info("{} result already saved, only notified (resultUuid='{}')", getComputationType(), resultContext.getResultUuid());
+                awaitReportDelivery(resultContext);
+                observer.observePhase(ComputationPhase.RESULT_NOTIFICATION, resultContext.getRunContext(), () -> resumeResultMessage(resultContext));
+                return;
+            }
+            registerRun(resultContext.getResultUuid(), initCancellationToken(resultContext.getRunContext()));
+            runRegistry.register(resultContext.getResultUuid(), getComputationType(), resultContext.getRunContext());
+            observer.observeRunRegistry(runRegistry);
+            observer.observeCancelRequests(cancelComputationRequests);
+            preRunTasks = new PreRunTasks(executionService.getIoExecutorService());
+            if (cancellationRegistry != null) {
+                // read while the network is loaded, a cancel request recorded before the run prevents its start
+                preRunTasks.fork(() -> cancellationRegistry.getCancelRequest(resultContext.getResultUuid())
+                        .ifPresent(cancelContext -> cancelComputationRequests.put(cancelContext.resultUuid(), cancelContext)));
+            }
+            forkPreRunTasks(resultContext.getRunContext(), preRunTasks);
+            Supplier<Network> networkLoader = () -> observer.observePhase(ComputationPhase.NETWORK_LOAD, resultContext.getRunContext(),
+                    () -> getNetwork(resultContext.getRunContext().getNetworkUuid(), resultContext.getRunContext().getVariantId()));
+            Network network;
+            if (networkPrefetcher != null && executionService.getIoExecutorService() != null) {
+                network = networkPrefetcher.acquireRunSlotAndNetwork(resultContext.getResultUuid(),
+                        networkLoader,
+                        executionService.getIoExecutorService(),
+                        discardedNetwork -> releaseNetwork(resultContext.getRunContext().getNetworkUuid(), discardedNetwork));
+                runSlotAcquired = true;
+            } else {
+                network = networkLoader.get();
+            }
             resultContext.getRunContext().setNetwork(network);
+            // the collections fetched from now on were not preloaded
+            resultContext.getRunContext().getResourceUsage().recordNetworkFetches();
+            preRunTasks.join();
             observer.observe("global.run", resultContext.getRunContext(), () -> {
                 long startTime = System.nanoTime();
                 R result = run(resultContext.getRunContext(), resultContext.getResultUuid(), rootReporter);
+                // the streamed part of the result is fully persisted before the result is saved and notified
+                completeResultSinks(resultContext.getResultUuid());
 
-                LOGGER.info("Just run in {}s", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime));
+                LOGGER.info("Just run in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
 
                 if (resultCanBeSaved(result)) {
-                    startTime = System.nanoTime();
-                    observer.observe("results.save", resultContext.getRunContext(), () -> saveResult(network, resultContext, result));
-
-                    LOGGER.info("Stored in {}s", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startTime));
-
-                    sendResultMessage(resultContext, result);
-                    LOGGER.info("{} complete (resultUuid='{}')", getComputationType(), resultContext.getResultUuid());
+                    if (executionService.submitResultSave(() -> saveResultInBackground(network, resultContext, result, rootReporter))) {
+                        // the next run message is taken while this result is persisted
+                        resultSaveDeferred.set(true);
+                    } else {
+                        saveAndSendResult(network, resultContext, result);
+                    }
                 }
             });
         } catch (CancellationException e) {
-            // Do nothing
+            if (resultContext.getRunContext().getCancellationToken().getReason() == CancellationToken.Reason.DEADLINE) {
+                throw handleRunFailure(resultContext, e, rootReporter);
+            }
+            // the progress made until the cancellation stays visible
+            finishReportSections(resultContext);
+        } catch (RejectedExecutionException e) {
+            if (executionService.getSaturationPolicy() != ExecutionService.SaturationPolicy.REQUEUE) {
+                throw handleRunFailure(resultContext, e, rootReporter);
+            }
+            requeued = true;
+            LOGGER.warn("{} worker is saturated, run message is requeued (resultUuid='{}')", getComputationType(), resultContext.getResultUuid());
+            // requires the run binding to requeue without local retries (max-attempts: 1)
+            throw new ImmediateRequeueAmqpException(e.getMessage(), e);
+        } catch (ImmediateRequeueAmqpException | AmqpRejectAndDontRequeueException e) {
+            throw e;
+        } catch (Exception e) {
+            throw handleRunFailure(resultContext, e, rootReporter);
+        } finally {
+            if (runOwned && !resultSaveDeferred.get()) {
+                if (!requeued && !skipped && Boolean.TRUE.equals(resultContext.getRunContext().getDebug())) {
+                    observer.observePhase(ComputationPhase.DEBUG_UPLOAD, resultContext.getRunContext(), () -> processDebug(resultContext));
+                }
+                clean(resultContext);
+                unregisterRun(resultContext, requeued);
+            }
+            if (preRunTasks != null) {
+                preRunTasks.close();
+            }
+            if (runSlotAcquired) {
+                networkPrefetcher.releaseRunSlot();
+            }
+        }
+    }
+
+    private void saveAndSendResult(Network network, AbstractResultContext<C> resultContext, R result) {
+        long startTime = System.nanoTime();
+        observer.observePhase(ComputationPhase.RESULT_SAVE, resultContext.getRunContext(),
+                () -> observer.observe("results.save", resultContext.getRunContext(), () -> saveResult(network, resultContext, result)));
+
+        LOGGER.info("Stored in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        observer.observeResourceUsage(resultContext.getRunContext(), resultContext.getRunContext().getResourceUsage().getSnapshot());
+
+        // only notified once the result is saved, its report may still be delivered by the outbox
+        awaitReportDelivery(resultContext);
+        observer.observePhase(ComputationPhase.RESULT_NOTIFICATION, resultContext.getRunContext(), () -> sendResultMessage(resultContext, result));
+        LOGGER.info("{} complete (resultUuid='{}')", getComputationType(), resultContext.getResultUuid());
+    }
+
+    private void saveResultInBackground(Network network, AbstractResultContext<C> resultContext, R result, AtomicReference<ReportNode> rootReporter) {
+        try {
+            resultContext.getRunContext().getResourceUsage().measure(() -> saveAndSendResult(network, resultContext, result));
         } catch (Exception e) {
-            resultService.delete(resultContext.getResultUuid());
-            this.handleNonCancellationException(resultContext, e, rootReporter);
-            throw new ComputationRunException(PowsyblWsProblemDetail.fromException(e, serverNameProvider.serverName()).toString(), e);
+            // the run message is already acknowledged, the failure can only be notified
+            ComputationRunException runException = handleRunFailure(resultContext, e, rootReporter);
+            LOGGER.error("{} result could not be saved (resultUuid='{}')", getComputationType(), resultContext.getResultUuid(), e);
+            notificationService.publishFail(resultContext.getResultUuid(), resultContext.getRunContext().getReceiver(),
+                    getComputationType(), resultContext.getRunContext().getUserId(), runException.getMessage());
         } finally {
             if (Boolean.TRUE.equals(resultContext.getRunContext().getDebug())) {
-                processDebug(resultContext);
+                observer.observePhase(ComputationPhase.DEBUG_UPLOAD, resultContext.getRunContext(), () -> processDebug(resultContext));
             }
             clean(resultContext);
+            unregisterRun(resultContext, false);
+        }
+    }
+
+    private CancellationToken initCancellationToken(C runContext) {
+        CancellationToken cancellationToken = runContext.getCancellationToken();
+        cancellationToken.setStopListener((reason, latency) -> observer.observeCancellationStop(runContext, reason, latency));
+        if (runTimeout != null) {
+            cancellationToken.setDeadline(runTimeout);
         }
+        return cancellationToken;
+    }
+
+    private ComputationRunHandle<R> registerRun(UUID resultUuid, CancellationToken cancellationToken) {
+        ComputationRunHandle<R> runHandle = runHandles.computeIfAbsent(resultUuid, uuid -> new ComputationRunHandle<>(cancellationToken));
+        // a cancel request received before the handle was registered did not find it
+        if (cancelComputationRequests.get(resultUuid) != null) {
+            runHandle.cancel();
+        }
+        return runHandle;
+    }
+
+    private boolean registerRunOwner(UUID resultUuid) {
+        if (runLease) {
+            return cancellationRegistry.tryLeaseRun(resultUuid, workerId);
+        }
+        cancellationRegistry.registerRun(resultUuid, workerId);
+        return true;
+    }
+
+    /**
+     * Put back a run message whose run is leased by another delivery, which may be running it or belong to a worker
+     * that died : the message is taken again once the lease is released, the result then being already saved, or
+     * has expired. The consumer thread is never held : to space out the redeliveries, the run binding declares a dead
+     * letter queue whose TTL routes the messages back (auto-bind-dlq, dlq-ttl and an empty dlq-dead-letter-exchange)
+     * and computation.run-lease.dead-letter-requeue is set, otherwise the message is requeued at once.
+     */
+    private AmqpException requeueLeasedRun(UUID resultUuid) {
+        String message = "Run " + resultUuid + " is leased by another delivery";
+        if (runLeaseDeadLetterRequeue) {
+            LOGGER.warn("{} run already in progress, run message is dead-lettered until requeued (resultUuid='{}')", getComputationType(), resultUuid);
+            return new AmqpRejectAndDontRequeueException(message);
+        }
+        LOGGER.warn("{} run already in progress, run message is requeued (resultUuid='{}')", getComputationType(), resultUuid);
+        // requires the run binding to requeue without local retries (max-attempts: 1)
+        return new ImmediateRequeueAmqpException(message);
+    }
+
+    private boolean isSuperseded(AbstractResultContext<C> resultContext) {
+        String supersedeKey = resultContext.getRunContext().getSupersedeKey();
+        if (cancellationRegistry == null || supersedeKey == null) {
+            return false;
+        }
+        return cancellationRegistry.getLatestRun(supersedeKey)
+                .filter(latestRun -> !latestRun.equals(resultContext.getResultUuid()))
+                .isPresent();
+    }
+
+    private void observeQueueWait(Message<String> message) {
+        Object publishTimestamp = message.getHeaders().get(AbstractResultContext.PUBLISH_TIMESTAMP_HEADER);
+        long publishMillis;
+        if (publishTimestamp instanceof Number number) {
+            publishMillis = number.longValue();
+        } else if (publishTimestamp instanceof String string && !string.isBlank()) {
+            try {
+                publishMillis = Long.parseLong(string.trim());
+            } catch (NumberFormatException e) {
+                // the run is not failed for a metric
+                LOGGER.warn("Invalid {} header '{}', queue wait not observed", AbstractResultContext.PUBLISH_TIMESTAMP_HEADER, string);
+                return;
+            }
+        } else {
+            return; // published by a former version
+        }
+        // clocks of the publishing and consuming pods may drift slightly
+        observer.observeQueueWait(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - publishMillis)));
+    }
+
+    private ComputationRunException handleRunFailure(AbstractResultContext<C> resultContext, Exception e, AtomicReference<ReportNode> rootReporter) {
+        abortResultSinks(resultContext.getResultUuid());
+        resultService.delete(resultContext.getResultUuid());
+        finishReportSections(resultContext);
+        this.handleNonCancellationException(resultContext, e, rootReporter);
+        return new ComputationRunException(PowsyblWsProblemDetail.fromException(e, serverNameProvider.serverName()).toString(), e);
     }
 
     /**
@@ -203,16 +604,47 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
      * @param resultContext The context of the computation
      */
     protected void clean(AbstractResultContext<C> resultContext) {
-        futures.remove(resultContext.getResultUuid());
-        cancelComputationRequests.remove(resultContext.getResultUuid());
+        ComputationRunHandle<R> runHandle = runHandles.remove(resultContext.getResultUuid());
+        if (runHandle != null) {
+            runHandle.finish();
+        }
+        abortResultSinks(resultContext.getResultUuid());
+        runRegistry.unregister(resultContext.getResultUuid());
 
-        // run in debug mode, clean debug dir
+        // give back a network borrowed from the cache
         C runContext = resultContext.getRunContext();
+        if (runContext.getNetwork() != null) {
+            observer.observeNetworkLazyFetches(runContext.getResourceUsage().getNetworkFetches());
+            if (isNetworkCacheUsed()) {
+                // the equipments fetched by the run stay loaded in the cached network
+                networkCache.addWeight(runContext.getNetwork(), runContext.getResourceUsage().getFetchedEquipmentCount());
+            }
+            releaseNetwork(runContext.getNetworkUuid(), runContext.getNetwork());
+        }
+
+        // run in debug mode, clean debug dir
         if (Boolean.TRUE.equals(runContext.getDebug()) && computationS3Service != null) {
             removeDirectory(runContext.getDebugDir());
         }
     }
 
+    /**
+     * Forget the cancel requests of a run once over, and let the other workers take it
+     * @param requeued whether the run message is put back in the queue, its cancel requests are then kept for the
+     *                 delivery taking it
+     */
+    private void unregisterRun(AbstractResultContext<C> resultContext, boolean requeued) {
+        UUID resultUuid = resultContext.getResultUuid();
+        if (!requeued) {
+            cancelComputationRequests.remove(resultUuid);
+        }
+        // the shared cancel request is only removed by the worker owning the run
+        if (cancellationRegistry != null && cancellationRegistry.unregisterRun(resultUuid, workerId) && !requeued) {
+            // the latest run of its supersede key is kept until it expires, its superseded runs may still be redelivered
+            cancellationRegistry.removeCancelRequest(resultUuid);
+        }
+    }
+
     /**
      * Process debug option
      * @param resultContext The context of the computation
@@ -265,6 +697,7 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
 
     public Consumer<Message<String>> consumeCancel() {
         return message -> {
+            observer.observeCancelRequests(cancelComputationRequests);
             CancelContext cancelContext = CancelContext.fromMessage(message);
             boolean isCancelled = cancelAsync(cancelContext);
             if (!isCancelled) {
@@ -275,9 +708,69 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
 
     protected abstract void saveResult(Network network, AbstractResultContext<C> resultContext, R result);
 
+    /**
+     * Open a sink through which the computation of a run streams the bulk of its result while running, instead of
+     * building it fully in memory. Each chunk of computation.result-sink.chunk-size items is given to the chunk
+     * writer, which should persist it with a single JDBC batch (e.g. JdbcTemplate.batchUpdate, or saveAll with a
+     * matching hibernate.jdbc.batch_size).
+     * <p>
+     * The sink is completed once the computation future is over, then {@link #saveResult} persists the remaining
+     * summary carried by the result. The sink is aborted when the run is cancelled or fails.
+     * @param resultUuid result of the run, as given to {@link #getCompletableFuture}
+     */
+    protected <T> ResultSink<T> openResultSink(UUID resultUuid, Consumer<List<T>> chunkWriter) {
+        Executor writerExecutor = executionService.getIoExecutorService() != null
+                ? executionService.getIoExecutorService()
+                : command -> RESULT_SINK_THREAD_FACTORY.newThread(command).start();
+        ResultSink<T> resultSink = new ResultSink<>(resultChunkSize, maxPendingResultChunks, chunkWriter, writerExecutor);
+        resultSinks.computeIfAbsent(resultUuid, uuid -> new ConcurrentLinkedQueue<>()).add(resultSink);
+        return resultSink;
+    }
+
+    private void completeResultSinks(UUID resultUuid) {
+        Queue<ResultSink<?>> sinks = resultSinks.remove(resultUuid);
+        if (sinks != null) {
+            try {
+                sinks.forEach(ResultSink::complete);
+            } catch (RuntimeException e) {
+                sinks.forEach(ResultSink::abort);
+                throw e;
+            }
+        }
+    }
+
+    private void abortResultSinks(UUID resultUuid) {
+        Queue<ResultSink<?>> sinks = resultSinks.remove(resultUuid);
+        if (sinks != null) {
+            sinks.forEach(ResultSink::abort);
+        }
+    }
+
     protected void sendResultMessage(AbstractResultContext<C> resultContext, R ignoredResult) {
         notificationService.sendResultMessage(resultContext.getResultUuid(), resultContext.getRunContext().getReceiver(),
-                resultContext.getRunContext().getUserId(), null);
+                resultContext.getRunContext().getUserId(), getResourceUsageHeaders(resultContext));
+    }
+
+    /**
+     * Notify a result saved by a former delivery of the run message, see {@link AbstractComputationResultService#isResultComplete}.
+     * The computation result is not available : workers whose result message depends on it should override this method.
+     */
+    protected void resumeResultMessage(AbstractResultContext<C> resultContext) {
+        sendResultMessage(resultContext, null);
+    }
+
+    /**
+     * @return the CPU time and allocated bytes headers of the result message, null unless
+     * computation.resource-usage.result-headers is enabled
+     */
+    @Nullable
+    protected Map<String, Object> getResourceUsageHeaders(AbstractResultContext<C> resultContext) {
+        if (!resourceUsageHeaders) {
+            return null;
+        }
+        ComputationResourceUsage.Snapshot usage = resultContext.getRunContext().getResourceUsage().getSnapshot();
+        return Map.of(HEADER_CPU_TIME_MS, TimeUnit.NANOSECONDS.toMillis(usage.cpuTimeNanos()),
+                HEADER_ALLOCATED_BYTES, usage.allocatedBytes());
     }
 
     private void sendDebugMessage(AbstractResultContext<C> resultContext, @Nullable String messageError) {
@@ -308,34 +801,63 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
         }
     }
 
+    /**
+     * Fork the remote steps preparing a run, joined once its network is loaded, before {@link #preRun}. Overriding
+     * workers may fork their own prefetches, e.g. of the inputs read from other servers, after calling this method.
+     * @param runContext The run context of the computation, without network yet
+     */
+    protected void forkPreRunTasks(C runContext, PreRunTasks preRunTasks) {
+        if (runContext.getReportInfos() != null && runContext.getReportInfos().reportUuid() != null) {
+            // Delete any previous computation logs
+            preRunTasks.fork(() -> observer.observePhase(ComputationPhase.REPORT_DELETE, runContext, () -> observer.observe("report.delete",
+                    runContext, () -> deleteReport(runContext.getReportInfos().reportUuid()))));
+        }
+    }
+
     protected R run(C runContext, UUID resultUuid, AtomicReference<ReportNode> rootReporter) {
         String provider = runContext.getProvider();
         ReportNode reportNode = ReportNode.NO_OP;
 
         if (runContext.getReportInfos() != null && runContext.getReportInfos().reportUuid() != null) {
-            final String reportType = runContext.getReportInfos().computationType();
-            String rootReporterId = runContext.getReportInfos().reporterId();
-            ReportNode rootReporterNode = ReportNode.newRootReportNode()
-                    .withAllResourceBundlesFromClasspath()
-                    .withMessageTemplate("ws.commons.rootReporterId")
-                    .withUntypedValue("rootReporterId", rootReporterId).build();
-            rootReporter.set(rootReporterNode);
-            reportNode = rootReporter.get().newReportNode().withMessageTemplate("ws.commons.reportType")
-                    .withUntypedValue("reportType", reportType)
-                    .withUntypedValue("optionalProvider", provider != null ? " (" + provider + ")" : "").add();
-            // Delete any previous computation logs
-            observer.observe("report.delete",
-                    runContext, () -> reportService.deleteReport(runContext.getReportInfos().reportUuid()));
+            reportNode = newReportTree(runContext, rootReporter);
         }
         runContext.setReportNode(reportNode);
+        runContext.setReportFlusher(newReportFlusher(runContext, reportNode));
 
-        preRun(runContext);
+        observer.observePhase(ComputationPhase.PRE_RUN, runContext, () -> preRun(runContext));
         CompletableFuture<R> future = runAsync(runContext, provider, resultUuid);
-        R result = future == null ? null : observer.observeRun("run", runContext, future::join);
-        postRun(runContext, rootReporter, result);
+        R result = future == null ? null : observer.observePhase(ComputationPhase.RUN, runContext, () -> observer.observeRun("run", runContext, future::join));
+        observer.observePhase(ComputationPhase.POST_RUN, runContext, () -> postRun(runContext, rootReporter, result));
         return result;
     }
 
+    private ReportNode newReportTree(C runContext, AtomicReference<ReportNode> rootReporter) {
+        String provider = runContext.getProvider();
+        final String reportType = runContext.getReportInfos().computationType();
+        String rootReporterId = runContext.getReportInfos().reporterId();
+        ReportNode rootReporterNode = ReportNode.newRootReportNode()
+                .withAllResourceBundlesFromClasspath()
+                .withMessageTemplate("ws.commons.rootReporterId")
+                .withUntypedValue("rootReporterId", rootReporterId).build();
+        rootReporter.set(rootReporterNode);
+        return rootReporter.get().newReportNode().withMessageTemplate("ws.commons.reportType")
+                .withUntypedValue("reportType", reportType)
+                .withUntypedValue("optionalProvider", provider != null ? " (" + provider + ")" : "").add();
+    }
+
+    private ReportFlusher newReportFlusher(C runContext, ReportNode reportNode) {
+        if (reportFlushPeriod == null || reportNode == ReportNode.NO_OP) {
+            return new ReportFlusher(reportNode);
+        }
+        UUID reportUuid = runContext.getReportInfos().reportUuid();
+        return new ReportFlusher(reportNode, () -> {
+            // same root and report type nodes as the report of the run
+            AtomicReference<ReportNode> sectionRoot = new AtomicReference<>();
+            ReportNode sectionNode = newReportTree(runContext, sectionRoot);
+            return new ReportFlusher.Section(sectionRoot.get(), sectionNode);
+        }, section -> sendReport(reportUuid, section), reportFlushPeriod, System::nanoTime);
+    }
+
     /**
      * Do some extra task after running the computation
      * @param runContext This context may be used for extra task in overriding classes
@@ -344,27 +866,95 @@ public abstract class AbstractWorkerService<R, C extends AbstractComputationRunC
      */
     protected void postRun(C runContext, AtomicReference<ReportNode> rootReportNode, R ignoredResult) {
         if (runContext.getReportInfos().reportUuid() != null) {
-            observer.observe("report.send", runContext, () -> reportService.sendReport(runContext.getReportInfos().reportUuid(), rootReportNode.get()));
+            observer.observePhase(ComputationPhase.REPORT_SEND, runContext, () -> observer.observe("report.send", runContext, () -> {
+                // the sections closed since the last flush come before the rest of the report
+                logDroppedReportSections(runContext, runContext.getReportFlusher().finish());
+                sendReport(runContext.getReportInfos().reportUuid(), rootReportNode.get());
+            }));
+        }
+    }
+
+    /**
+     * Send the report sections closed by a failed or cancelled run, postRun not being called
+     */
+    private void finishReportSections(AbstractResultContext<C> resultContext) {
+        try {
+            logDroppedReportSections(resultContext.getRunContext(), resultContext.getRunContext().getReportFlusher().finish());
+        } catch (RuntimeException e) {
+            // the outcome of the run is notified anyway
+            LOGGER.warn("{} report sections not sent (resultUuid='{}')", getComputationType(), resultContext.getResultUuid(), e);
+        }
+    }
+
+    private void logDroppedReportSections(C runContext, int droppedSections) {
+        if (droppedSections > 0) {
+            LOGGER.warn("{} report sections still open at the end of the run were dropped : {} (reportUuid='{}')", getComputationType(),
+                    droppedSections, runContext.getReportInfos().reportUuid());
         }
     }
 
+    private void awaitReportDelivery(AbstractResultContext<C> resultContext) {
+        ReportInfos reportInfos = resultContext.getRunContext().getReportInfos();
+        if (reportOutbox != null && reportInfos != null && reportInfos.reportUuid() != null
+                && !reportOutbox.awaitDelivery(reportInfos.reportUuid())) {
+            LOGGER.info("{} result notified before its report {} was delivered (resultUuid='{}')", getComputationType(),
+                    reportInfos.reportUuid(), resultContext.getResultUuid());
+        }
+    }
+
+    /**
+     * Delete a report, through the {@link ReportOutbox} when configured
+     */
+    protected void deleteReport(UUID reportUuid) {
+        if (reportOutbox != null) {
+            reportOutbox.deleteReport(reportUuid);
+        } else {
+            reportService.deleteReport(reportUuid);
+        }
+    }
+
+    /**
+     * Send a report, trimmed by the {@link ReportGovernor} and through the {@link ReportOutbox} when configured
+     */
+    protected void sendReport(UUID reportUuid, ReportNode reportNode) {
+        ReportNode governedReportNode = governReport(reportUuid, reportNode);
+        if (reportOutbox != null) {
+            reportOutbox.sendReport(reportUuid, governedReportNode);
+        } else {
+            reportService.sendReport(reportUuid, governedReportNode);
+        }
+    }
+
+    private ReportNode governReport(UUID reportUuid, ReportNode reportNode) {
+        if (reportGovernor == null) {
+            return reportNode;
+        }
+        ReportGovernor.Governed governed = reportGovernor.govern(reportNode);
+        if (governed.isTrimmed()) {
+            LOGGER.info("Report {} trimmed : {} nodes aggregated, {} nodes dropped", reportUuid, governed.aggregatedNodes(), governed.droppedNodes());
+            observer.observeReportTrimmed(governed.aggregatedNodes(), governed.droppedNodes());
+        }
+        return governed.reportNode();
+    }
+
     protected CompletableFuture<R> runAsync(
             C runContext,
             String provider,
             UUID resultUuid) {
-        lockRunAndCancel.lock();
-        try {
-            if (resultUuid != null && cancelComputationRequests.get(resultUuid) != null) {
-                return null;
-            }
-            CompletableFuture<R> future = getCompletableFuture(runContext, provider, resultUuid);
-            if (resultUuid != null) {
-                futures.put(resultUuid, future);
-            }
-            return future;
-        } finally {
-            lockRunAndCancel.unlock();
+        if (resultUuid == null) {
+            return getCompletableFuture(runContext, provider, null);
+        }
+        ComputationRunHandle<R> runHandle = registerRun(resultUuid, runContext.getCancellationToken());
+        if (runHandle.isCancelled()) {
+            return null;
+        }
+        CompletableFuture<R> future = getCompletableFuture(runContext, provider, resultUuid);
+        if (!runHandle.start(future)) {
+            // cancelled while the computation was being submitted
+            future.cancel(true);
+            return null;
         }
+        return future;
     }
 
     protected abstract String getComputationType();
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cancel requests received by a worker, kept so that a run whose cancel request arrives before its run message is
+ * not started.
+ * <p>
+ * Requests for results run by other workers, or already over, are never claimed by a run : each request expires
+ * after a time to live, which must exceed the time a run message may wait in the queue, and the oldest requests are
+ * evicted beyond a maximum count.
+ */
+public class CancelRequestRegistry {
+    private record CancelRequest(CancelContext cancelContext, long requestNanos) { }
+
+    // guarded by this
+    private int maxSize;
+    private long timeToLiveNanos;
+    private final LongSupplier nanoClock;
+    // guarded by this, in request order, hence in expiry order whatever the time to live
+    private final Map<UUID, CancelRequest> requests = new LinkedHashMap<>();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    public CancelRequestRegistry(int maxSize, Duration timeToLive) {
+        this(maxSize, timeToLive, System::nanoTime);
+    }
+
+    CancelRequestRegistry(int maxSize, Duration timeToLive, LongSupplier nanoClock) {
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+        configure(maxSize, timeToLive);
+    }
+
+    /**
+     * Change the limits, which apply to the requests already kept : the ones older than the new time to live expire
+     * and the oldest ones are evicted beyond the new maximum count
+     */
+    public synchronized void configure(int maxSize, Duration timeToLive) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cancel requests max size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        purgeExpired(nanoClock.getAsLong());
+        evictBeyondMaxSize();
+    }
+
+    public synchronized void put(UUID resultUuid, CancelContext cancelContext) {
+        long now = nanoClock.getAsLong();
+        purgeExpired(now);
+        // moved at the end of the request order
+        requests.remove(resultUuid);
+        requests.put(resultUuid, new CancelRequest(cancelContext, now));
+        evictBeyondMaxSize();
+    }
+
+    /**
+     * @return the cancel request of the result, null if there is none or if it has expired
+     */
+    public synchronized CancelContext get(UUID resultUuid) {
+        purgeExpired(nanoClock.getAsLong());
+        CancelRequest request = requests.get(resultUuid);
+        return request != null ? request.cancelContext() : null;
+    }
+
+    public synchronized CancelContext remove(UUID resultUuid) {
+        CancelRequest request = requests.remove(resultUuid);
+        return request != null ? request.cancelContext() : null;
+    }
+
+    public synchronized int size() {
+        purgeExpired(nanoClock.getAsLong());
+        return requests.size();
+    }
+
+    /**
+     * @return the number of requests dropped after their time to live
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return the number of requests dropped before their time to live, to keep the maximum count
+     */
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    private void evictBeyondMaxSize() {
+        Iterator<CancelRequest> oldestRequests = requests.values().iterator();
+        while (requests.size() > maxSize) {
+            oldestRequests.next();
+            oldestRequests.remove();
+            evictedCount.incrementAndGet();
+        }
+    }
+
+    private void purgeExpired(long now) {
+        Iterator<CancelRequest> oldestRequests = requests.values().iterator();
+        while (oldestRequests.hasNext() && now - oldestRequests.next().requestNanos() >= timeToLiveNanos) {
+            oldestRequests.remove();
+            expiredCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Registry shared by the workers of a computation, mapping the runs in progress to the worker running them.
+ * It also holds the latest run requested for each supersede key, see {@link AbstractComputationRunContext#getSupersedeKey()},
+ * until it expires with the cancel requests : the runs it superseded are skipped even when redelivered after it is over.
+ * <p>
+ * A cancel message is consumed by any worker : when the run is not in progress on this worker, the cancel request is
+ * recorded in the registry and delivered to the worker owning the run. A cancel request recorded before the run
+ * starts is seen by the worker receiving the run message, which does not start it.
+ */
+public interface CancellationRegistry {
+
+    /**
+     * Record that the run of the result is in progress on the worker
+     */
+    void registerRun(UUID resultUuid, String workerId);
+
+    /**
+     * Record that the run of the result is in progress on the worker, unless a lease is held on it, by another worker
+     * or by this one for another delivery of the run message. The lease is held until the run is unregistered, or
+     * expires when the worker is not alive anymore.
+     * @return false if the run is already in progress
+     */
+    boolean tryLeaseRun(UUID resultUuid, String workerId);
+
+    /**
+     * Record that the run of the result is over on the worker
+     * @return false if the run was not registered by this worker
+     */
+    boolean unregisterRun(UUID resultUuid, String workerId);
+
+    /**
+     * @return the worker running the result, empty if the run is not in progress
+     */
+    Optional<String> getRunOwner(UUID resultUuid);
+
+    /**
+     * Record a cancel request, delivered to the cancel listener of the worker owning the run, if any
+     */
+    void requestCancel(CancelContext cancelContext);
+
+    Optional<CancelContext> getCancelRequest(UUID resultUuid);
+
+    void removeCancelRequest(UUID resultUuid);
+
+    /**
+     * Record the latest run requested for a supersede key, superseding the runs requested before for this key
+     */
+    void recordLatestRun(String supersedeKey, UUID resultUuid);
+
+    /**
+     * @return the latest run requested for the supersede key, empty if none has been requested or if it has expired
+     */
+    Optional<UUID> getLatestRun(String supersedeKey);
+
+    /**
+     * Listen to the cancel requests of the runs registered by the worker
+     */
+    void addCancelListener(String workerId, Consumer<CancelContext> listener);
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Provides the {@link CancellationRegistry} shared by the workers when computation.cancellation-registry.type is set :
+ * in-memory for a single application instance, jdbc to share it through the database of the computation server,
+ * whose changelog must include db/changelog/computation/cancellation_registry.xml.
+ * The cancel requests are bounded as the ones kept by each worker, see computation.cancel-requests.
+ * With jdbc, the leases taken by the workers when computation.run-lease.enabled is set expire after
+ * computation.cancellation-registry.lease-duration without renewal. Meanwhile, the other deliveries of a leased run
+ * are requeued at once, or dead-lettered when computation.run-lease.dead-letter-requeue is set, the dead letter queue
+ * of the run binding putting them back after its TTL.
+ */
+@AutoConfiguration
+public class CancellationRegistryAutoConfiguration {
+    private static final String TYPE_PROPERTY = "computation.cancellation-registry.type";
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = TYPE_PROPERTY, havingValue = "in-memory")
+    public CancellationRegistry inMemoryCancellationRegistry(@Value("${computation.cancel-requests.max-size:10000}") int maxCancelRequests,
+                                                             @Value("${computation.cancel-requests.time-to-live:1h}") Duration cancelRequestTimeToLive) {
+        return new InMemoryCancellationRegistry(maxCancelRequests, cancelRequestTimeToLive);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(JdbcTemplate.class)
+    @ConditionalOnProperty(name = TYPE_PROPERTY, havingValue = "jdbc")
+    static class JdbcCancellationRegistryConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public CancellationRegistry jdbcCancellationRegistry(JdbcTemplate jdbcTemplate,
+                                                             @Value("${computation.cancel-requests.time-to-live:1h}") Duration cancelRequestTimeToLive,
+                                                             @Value("${computation.cancellation-registry.poll-period:2s}") Duration pollPeriod,
+                                                             @Value("${computation.cancellation-registry.lease-duration:1m}") Duration leaseDuration) {
+            return new JdbcCancellationRegistry(jdbcTemplate, cancelRequestTimeToLive, pollPeriod, leaseDuration);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Cooperative cancellation of a run, polled by the computation.
+ * <p>
+ * Interrupting the computation future does not stop provider loops that ignore interruption. Long computations
+ * should poll {@link #isCancellationRequested()} or {@link #throwIfCancellationRequested()} regularly, e.g. once per
+ * contingency or iteration : it is a volatile read, plus a clock read when a deadline is set.
+ * <p>
+ * The token fires when a cancel request is received for the run, or when its deadline is reached.
+ * The first poll observing the cancellation notifies the stop listener with the cancel-to-stop latency.
+ */
+public class CancellationToken {
+
+    public enum Reason {
+        /**
+         * Cancel request received from the user
+         */
+        CANCEL_REQUEST,
+        /**
+         * Run deadline reached
+         */
+        DEADLINE
+    }
+
+    private record Request(Reason reason, long nanos) { }
+
+    private final LongSupplier nanoClock;
+    private final AtomicReference<Request> request = new AtomicReference<>();
+    private final AtomicBoolean stopObserved = new AtomicBoolean();
+    private volatile boolean deadlineSet;
+    private volatile long deadlineNanos;
+    private volatile BiConsumer<Reason, Duration> stopListener;
+
+    public CancellationToken() {
+        this(System::nanoTime);
+    }
+
+    public CancellationToken(LongSupplier nanoClock) {
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+    }
+
+    /**
+     * Request the cancellation of the run
+     * @return false if the cancellation had already been requested
+     */
+    public boolean cancel() {
+        return request.compareAndSet(null, new Request(Reason.CANCEL_REQUEST, nanoClock.getAsLong()));
+    }
+
+    /**
+     * Fire the token once the given timeout has elapsed from now
+     */
+    public void setDeadline(Duration timeout) {
+        deadlineNanos = nanoClock.getAsLong() + timeout.toNanos();
+        deadlineSet = true;
+    }
+
+    /**
+     * Called once, by the first poll observing the cancellation, with the time elapsed since the cancellation
+     */
+    public void setStopListener(BiConsumer<Reason, Duration> stopListener) {
+        this.stopListener = stopListener;
+    }
+
+    public boolean isCancellationRequested() {
+        Request current = request.get();
+        if (current == null) {
+            if (!deadlineSet || nanoClock.getAsLong() - deadlineNanos < 0) {
+                return false;
+            }
+            request.compareAndSet(null, new Request(Reason.DEADLINE, deadlineNanos));
+            current = request.get();
+        }
+        if (!stopObserved.get() && stopObserved.compareAndSet(false, true)) {
+            notifyStop(current);
+        }
+        return true;
+    }
+
+    /**
+     * @throws CancellationException if the cancellation has been requested, to be called from the computation loops
+     */
+    public void throwIfCancellationRequested() {
+        if (isCancellationRequested()) {
+            throw new CancellationException(getReason() == Reason.DEADLINE ? "Computation deadline reached" : "Computation cancelled");
+        }
+    }
+
+    /**
+     * @return why the token fired, or null if it has not fired yet
+     */
+    public Reason getReason() {
+        Request current = request.get();
+        return current != null ? current.reason() : null;
+    }
+
+    private void notifyStop(Request current) {
+        BiConsumer<Reason, Duration> listener = stopListener;
+        if (listener != null) {
+            listener.accept(current.reason(), Duration.ofNanos(Math.max(0, nanoClock.getAsLong() - current.nanos())));
+        }
+    }
+}
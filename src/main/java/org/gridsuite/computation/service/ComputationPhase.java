@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import lombok.Getter;
+
+/**
+ * Phases of the run of a computation, timed separately by {@link AbstractComputationObserver#observePhase} and
+ * recorded as {@link ComputationPhaseEvent} flight recorder events
+ */
+@Getter
+public enum ComputationPhase {
+    NETWORK_LOAD("network.load"),
+    /**
+     * Concurrent with {@link #NETWORK_LOAD} when the I/O executor is available, see {@link PreRunTasks}
+     */
+    REPORT_DELETE("report.delete"),
+    PRE_RUN("pre.run"),
+    RUN("run"),
+    POST_RUN("post.run"),
+    /**
+     * Part of {@link #POST_RUN}
+     */
+    REPORT_SEND("report.send"),
+    RESULT_SAVE("result.save"),
+    RESULT_NOTIFICATION("result.notification"),
+    DEBUG_UPLOAD("debug.upload");
+
+    /**
+     * Value of the phase tag
+     */
+    private final String tagValue;
+
+    ComputationPhase(String tagValue) {
+        this.tagValue = tagValue;
+    }
+}
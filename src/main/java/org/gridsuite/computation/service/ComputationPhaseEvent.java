@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event spanning a {@link ComputationPhase} of a run, so that the samples of a recording can be
+ * attributed to a result and a phase. Disabled unless enabled in the recording settings.
+ */
+@Name(ComputationPhaseEvent.NAME)
+@Label("Computation Phase")
+@Description("Phase of the run of a computation")
+@Category({"GridSuite", "Computation"})
+@StackTrace(false)
+final class ComputationPhaseEvent extends Event {
+    static final String NAME = "org.gridsuite.computation.ComputationPhase";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Result UUID")
+    String resultUuid;
+
+    @Label("Computation Type")
+    String computationType;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Network UUID")
+    String networkUuid;
+}
@@ -0,0 +1,22 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.commons.report.ReportResourceBundle;
+
+/**
+ * Messages of the report nodes added by the computation library, e.g. the summaries of a {@link ReportGovernor}
+ */
+public final class ComputationReportResourceBundle implements ReportResourceBundle {
+
+    public static final String BASE_NAME = "org.gridsuite.computation.reports";
+
+    @Override
+    public String getBaseName() {
+        return BASE_NAME;
+    }
+}
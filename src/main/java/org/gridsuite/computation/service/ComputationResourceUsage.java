@@ -0,0 +1,176 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.iidm.network.IdentifiableType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CPU time and heap allocations of a run, summed over the threads working for it.
+ * <p>
+ * The worker measures its own thread while handling the run, and the tasks submitted to the executors of
+ * {@link ExecutionService} while a measure is in progress are measured on the thread running them. Work done on
+ * other executors, e.g. the common fork-join pool, is not accounted.
+ * The JVM may not provide the counters for virtual threads, the work they run is then not accounted either.
+ * <p>
+ * The equipments fetched from the network store by the same threads are counted as well, and the fetches of each
+ * collection once the network of the run is loaded, see {@link NetworkStoreFetchRecorder}.
+ */
+public final class ComputationResourceUsage {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN =
+            THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean allocationMxBean && allocationMxBean.isThreadAllocatedMemorySupported()
+                    ? allocationMxBean : null;
+    private static final ThreadLocal<ComputationResourceUsage> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Resources used by a run at a given time
+     * @param cpuTimeNanos CPU time in nanoseconds
+     * @param allocatedBytes bytes allocated in the heap
+     */
+    public record Snapshot(long cpuTimeNanos, long allocatedBytes) { }
+
+    private record Counters(long cpuTimeNanos, long allocatedBytes) { }
+
+    // guarded by this
+    private long cpuTimeNanos;
+    private long allocatedBytes;
+    // counters of the threads being measured when their measure started, read live by the snapshots
+    private final Map<Thread, Counters> measuredThreads = new LinkedHashMap<>();
+    private final Map<IdentifiableType, LongAdder> networkFetches = new ConcurrentHashMap<>();
+    private volatile boolean networkFetchesRecorded;
+    private final LongAdder fetchedEquipments = new LongAdder();
+
+    /**
+     * Run a task, adding the CPU time and the allocations of the current thread to this usage.
+     * Tasks submitted to the executors of {@link ExecutionService} meanwhile are measured the same way.
+     */
+    public <E extends Exception> void measure(CheckedRunnable<E> task) throws E {
+        ComputationResourceUsage previous = CURRENT.get();
+        if (previous == this) {
+            // already measured by an outer call on this thread
+            task.run();
+            return;
+        }
+        Thread thread = Thread.currentThread();
+        CURRENT.set(this);
+        synchronized (this) {
+            measuredThreads.put(thread, readCounters(thread));
+        }
+        try {
+            task.run();
+        } finally {
+            synchronized (this) {
+                addUsage(thread, measuredThreads.remove(thread));
+            }
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * @return the resources used so far, including the ones of the measures still in progress
+     */
+    public synchronized Snapshot getSnapshot() {
+        long cpuTime = cpuTimeNanos;
+        long allocated = allocatedBytes;
+        for (Map.Entry<Thread, Counters> measuredThread : measuredThreads.entrySet()) {
+            Counters current = readCounters(measuredThread.getKey());
+            cpuTime += delta(measuredThread.getValue().cpuTimeNanos(), current.cpuTimeNanos());
+            allocated += delta(measuredThread.getValue().allocatedBytes(), current.allocatedBytes());
+        }
+        return new Snapshot(cpuTime, allocated);
+    }
+
+    /**
+     * @return the threads working for the run at the moment, in the order they started to
+     */
+    public synchronized List<Thread> getMeasuredThreads() {
+        return List.copyOf(measuredThreads.keySet());
+    }
+
+    /**
+     * Count the network store fetches from now on, called once the network of the run is loaded and preloaded
+     */
+    public void recordNetworkFetches() {
+        networkFetchesRecorded = true;
+    }
+
+    /**
+     * @return the count of fetches of each collection since {@link #recordNetworkFetches()}
+     */
+    public Map<IdentifiableType, Long> getNetworkFetches() {
+        Map<IdentifiableType, Long> fetches = new EnumMap<>(IdentifiableType.class);
+        networkFetches.forEach((collection, count) -> fetches.put(collection, count.sum()));
+        return fetches;
+    }
+
+    /**
+     * @return the count of equipments fetched from the network store, loaded into the network of the run
+     */
+    public long getFetchedEquipmentCount() {
+        return fetchedEquipments.sum();
+    }
+
+    /**
+     * Count a fetch of a collection for the usage being measured on the current thread, if any
+     */
+    static void recordNetworkFetch(IdentifiableType collection, long equipmentCount) {
+        ComputationResourceUsage usage = CURRENT.get();
+        if (usage == null) {
+            return;
+        }
+        usage.fetchedEquipments.add(equipmentCount);
+        if (usage.networkFetchesRecorded) {
+            usage.networkFetches.computeIfAbsent(collection, c -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Bind a task to the usage being measured on the submitting thread, if any
+     */
+    static Runnable bindToCurrent(Runnable task) {
+        ComputationResourceUsage usage = CURRENT.get();
+        return usage == null ? task : () -> usage.measure(task::run);
+    }
+
+    private void addUsage(Thread thread, Counters start) {
+        Counters end = readCounters(thread);
+        cpuTimeNanos += delta(start.cpuTimeNanos(), end.cpuTimeNanos());
+        allocatedBytes += delta(start.allocatedBytes(), end.allocatedBytes());
+    }
+
+    private static long delta(long start, long end) {
+        // -1 when the counter is not available for the thread
+        return start >= 0 && end >= start ? end - start : 0;
+    }
+
+    private static Counters readCounters(Thread thread) {
+        long threadId = thread.threadId();
+        long cpuTime = THREAD_MX_BEAN.isThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()
+                ? THREAD_MX_BEAN.getThreadCpuTime(threadId) : -1;
+        long allocated = ALLOCATION_MX_BEAN != null && ALLOCATION_MX_BEAN.isThreadAllocatedMemoryEnabled()
+                ? ALLOCATION_MX_BEAN.getThreadAllocatedBytes(threadId) : -1;
+        return new Counters(cpuTime, allocated);
+    }
+
+    @FunctionalInterface
+    public interface CheckedRunnable<E extends Exception> {
+        void run() throws E;
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cancellation state of a single run, shared by the thread running it and the threads cancelling it.
+ * <p>
+ * Transitions are atomic, so that a run and a cancel request on the same result agree on the outcome without any
+ * lock : a run is either started or cancelled before starting, a cancel either stops the computation or fails.
+ * Runs on different results never wait for each other.
+ * <pre>
+ * PENDING -> RUNNING (start), CANCELLED (cancel) or DONE (finish)
+ * RUNNING -> CANCELLED (cancel) or DONE (finish)
+ * </pre>
+ * @param <R> powsybl Result class specific to the computation
+ */
+public final class ComputationRunHandle<R> {
+
+    public enum State {
+        /**
+         * Run message received, computation not started yet (e.g. network loading)
+         */
+        PENDING,
+        /**
+         * Computation future started
+         */
+        RUNNING,
+        /**
+         * Cancelled before starting, or computation future cancelled
+         */
+        CANCELLED,
+        /**
+         * Run over, it can no longer be cancelled
+         */
+        DONE
+    }
+
+    // state and future are swapped together, so that a transition cannot pair a state with a stale future
+    private record Snapshot<R>(State state, CompletableFuture<R> future) { }
+
+    private final AtomicReference<Snapshot<R>> snapshot = new AtomicReference<>(new Snapshot<>(State.PENDING, null));
+
+    private final CancellationToken cancellationToken;
+
+    public ComputationRunHandle() {
+        this(new CancellationToken());
+    }
+
+    /**
+     * @param cancellationToken token of the run context, fired when the run is cancelled
+     */
+    public ComputationRunHandle(CancellationToken cancellationToken) {
+        this.cancellationToken = Objects.requireNonNull(cancellationToken);
+    }
+
+    public State getState() {
+        return snapshot.get().state();
+    }
+
+    public CompletableFuture<R> getFuture() {
+        return snapshot.get().future();
+    }
+
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    public boolean isCancelled() {
+        return getState() == State.CANCELLED;
+    }
+
+    /**
+     * Attach the computation future to a pending run, or replace it when the computation chains several futures
+     * @return false if the run has been cancelled or is over, the future is then left untouched
+     */
+    public boolean start(CompletableFuture<R> computationFuture) {
+        Objects.requireNonNull(computationFuture);
+        while (true) {
+            Snapshot<R> current = snapshot.get();
+            if (current.state() != State.PENDING && current.state() != State.RUNNING) {
+                return false;
+            }
+            if (snapshot.compareAndSet(current, new Snapshot<>(State.RUNNING, computationFuture))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Cancel a pending run, or interrupt a running computation and fire its cancellation token
+     * @return true if this call cancelled the run, false if it was already cancelled, over, or the computation
+     * completed before it could be interrupted
+     */
+    public boolean cancel() {
+        while (true) {
+            Snapshot<R> current = snapshot.get();
+            switch (current.state()) {
+                case PENDING -> {
+                    if (snapshot.compareAndSet(current, new Snapshot<>(State.CANCELLED, null))) {
+                        cancellationToken.cancel();
+                        return true;
+                    }
+                }
+                case RUNNING -> {
+                    // the future arbitrates between its completion and the interruption
+                    if (!current.future().cancel(true)) {
+                        return false;
+                    }
+                    // only one of concurrent cancel requests wins, a future replaced meanwhile is cancelled on retry
+                    if (snapshot.compareAndSet(current, new Snapshot<>(State.CANCELLED, current.future()))) {
+                        // stops the provider loops ignoring the interruption
+                        cancellationToken.cancel();
+                        return true;
+                    }
+                }
+                default -> {
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Mark the run as over, later cancel requests fail
+     */
+    public void finish() {
+        snapshot.updateAndGet(current -> current.state() == State.CANCELLED ? current : new Snapshot<>(State.DONE, current.future()));
+    }
+}
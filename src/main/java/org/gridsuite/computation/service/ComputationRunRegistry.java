@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Read-only view of the runs in progress in a worker, from the reception of their run message until their result
+ * is saved and notified or they fail
+ */
+public final class ComputationRunRegistry {
+
+    /**
+     * State of a run in progress
+     * @param phase phase in progress, null before the first phase
+     * @param phaseElapsed time spent in the phase in progress
+     * @param threadName thread running the phase in progress
+     */
+    public record RunningComputation(UUID resultUuid, String computationType, UUID networkUuid, String variantId,
+                                     String provider, ComputationPhase phase, Instant startTime, Duration elapsed,
+                                     Duration phaseElapsed, String threadName) {
+    }
+
+    private record Run(String computationType, AbstractComputationRunContext<?> runContext, Instant startTime, long startNanos) {
+    }
+
+    private final Map<UUID, Run> runs = new ConcurrentHashMap<>();
+
+    void register(UUID resultUuid, String computationType, AbstractComputationRunContext<?> runContext) {
+        runs.putIfAbsent(resultUuid, new Run(computationType, runContext, Instant.now(), System.nanoTime()));
+    }
+
+    void unregister(UUID resultUuid) {
+        runs.remove(resultUuid);
+    }
+
+    /**
+     * @return the runs in progress, the longest first
+     */
+    public List<RunningComputation> getRunningComputations() {
+        long now = System.nanoTime();
+        return runs.entrySet().stream()
+                .map(run -> toRunningComputation(run.getKey(), run.getValue(), now))
+                .sorted(Comparator.comparing(RunningComputation::elapsed).reversed())
+                .toList();
+    }
+
+    public Optional<RunningComputation> getRunningComputation(UUID resultUuid) {
+        Run run = runs.get(resultUuid);
+        return run == null ? Optional.empty() : Optional.of(toRunningComputation(resultUuid, run, System.nanoTime()));
+    }
+
+    void forEachRun(BiConsumer<UUID, AbstractComputationRunContext<?>> action) {
+        runs.forEach((resultUuid, run) -> action.accept(resultUuid, run.runContext()));
+    }
+
+    public int getRunningComputationCount() {
+        return runs.size();
+    }
+
+    public long getRunningComputationCount(ComputationPhase phase) {
+        return runs.values().stream()
+                .filter(run -> run.runContext().getPhaseProgress() != null && run.runContext().getPhaseProgress().phase() == phase)
+                .count();
+    }
+
+    /**
+     * @return the time elapsed since the start of the oldest run in progress, zero if there is none
+     */
+    public Duration getOldestElapsed() {
+        long now = System.nanoTime();
+        return runs.values().stream()
+                .map(run -> Duration.ofNanos(now - run.startNanos()))
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ZERO);
+    }
+
+    private static RunningComputation toRunningComputation(UUID resultUuid, Run run, long now) {
+        AbstractComputationRunContext<?> runContext = run.runContext();
+        AbstractComputationRunContext.PhaseProgress phaseProgress = runContext.getPhaseProgress();
+        return new RunningComputation(resultUuid, run.computationType(), runContext.getNetworkUuid(), runContext.getVariantId(),
+                runContext.getProvider(),
+                phaseProgress != null ? phaseProgress.phase() : null,
+                run.startTime(),
+                Duration.ofNanos(now - run.startNanos()),
+                phaseProgress != null ? Duration.ofNanos(Math.max(0, now - phaseProgress.startNanos())) : null,
+                phaseProgress != null ? phaseProgress.thread().getName() : null);
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event recorded by the {@link StallWatchdog} when a run exceeds the budget of its phase
+ */
+@Name(ComputationStallEvent.NAME)
+@Label("Computation Stall")
+@Description("Run exceeding the budget of its phase")
+@Category({"GridSuite", "Computation"})
+@StackTrace(false)
+final class ComputationStallEvent extends Event {
+    static final String NAME = "org.gridsuite.computation.ComputationStall";
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Result UUID")
+    String resultUuid;
+
+    @Label("Computation Type")
+    String computationType;
+
+    @Label("Provider")
+    String provider;
+
+    @Label("Network UUID")
+    String networkUuid;
+
+    @Label("Phase Elapsed")
+    @Timespan(Timespan.MILLISECONDS)
+    long phaseElapsed;
+
+    @Label("Budget")
+    @Timespan(Timespan.MILLISECONDS)
+    long budget;
+
+    @Label("Thread Name")
+    String threadName;
+}
@@ -11,14 +11,28 @@ import com.powsybl.computation.ComputationManager;
 import com.powsybl.computation.local.LocalComputationManager;
 import io.micrometer.context.ContextExecutorService;
 import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author David Braquart <david.braquart at rte-france.com>
@@ -27,21 +41,232 @@ import java.util.concurrent.Executors;
 @Getter
 public class ExecutionService {
 
+    /**
+     * Threading model backing the executor services and the computation manager
+     */
+    public enum ExecutionMode {
+        /**
+         * Unbounded pool of platform threads, reused when idle
+         */
+        CACHED,
+        /**
+         * One virtual thread per task, cheap to create and to block (network-store, report server, S3...)
+         */
+        VIRTUAL_THREADS,
+        /**
+         * Fixed-size pools with bounded wait queues, one for CPU-bound and one for I/O-bound work. The subtasks that
+         * the providers submit to the computation manager and join run on a separate unbounded pool : they would
+         * otherwise wait for the threads of the runs joining them, or be rejected in the middle of a run.
+         */
+        BOUNDED
+    }
+
+    /**
+     * What to do with a run message when the bounded pools are saturated
+     */
+    public enum SaturationPolicy {
+        /**
+         * The run fails, as any other computation error
+         */
+        REJECT,
+        /**
+         * The run message is put back in the queue, so that it can be picked up by a less loaded worker
+         */
+        REQUEUE
+    }
+
+    public static final String CPU_POOL_NAME = "computation-cpu";
+    public static final String IO_POOL_NAME = "computation-io";
+    public static final String RESULT_SAVE_POOL_NAME = "computation-result-save";
+    public static final String COMPUTATION_MANAGER_POOL_NAME = "computation-manager";
+    // ExecutorServiceMetrics appends "executor.*" (active, queued, queue.remaining, pool.size...) to this prefix
+    private static final String EXECUTOR_METRICS_PREFIX = "app.computation";
+    private static final String EXECUTOR_REJECTED_COUNTER_NAME = EXECUTOR_METRICS_PREFIX + ".executor.rejected";
+    private static final String POOL_TAG_NAME = "name";
+    private static final String VIRTUAL_THREAD_NAME_PREFIX = "computation-vt-";
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60L;
+    private static final long RESULT_SAVE_SHUTDOWN_TIMEOUT_SECONDS = 60L;
+
+    @Value("${computation.execution.mode:CACHED}")
+    private ExecutionMode mode = ExecutionMode.CACHED;
+
+    // 0 means one thread per available processor
+    @Value("${computation.execution.bounded.cpu-pool-size:0}")
+    private int cpuPoolSize;
+
+    @Value("${computation.execution.bounded.io-pool-size:16}")
+    private int ioPoolSize = 16;
+
+    @Value("${computation.execution.bounded.queue-capacity:32}")
+    private int queueCapacity = 32;
+
+    @Value("${computation.execution.bounded.saturation-policy:REJECT}")
+    private SaturationPolicy saturationPolicy = SaturationPolicy.REJECT;
+
+    // results saved on a dedicated pool, so that the worker takes the next run message while a result is persisted
+    @Value("${computation.execution.result-save.async:false}")
+    private boolean asyncResultSave;
+
+    @Value("${computation.execution.result-save.pool-size:2}")
+    private int resultSavePoolSize = 2;
+
+    // results waiting to be saved are kept in memory, the worker waits for a slot beyond this limit
+    @Value("${computation.execution.result-save.max-in-flight:4}")
+    private int maxInFlightResultSaves = 4;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Getter(AccessLevel.NONE)
+    private ThreadPoolExecutor cpuThreadPool;
+
     private ExecutorService executorService;
 
+    private ExecutorService ioExecutorService;
+
+    @Getter(AccessLevel.NONE)
+    private ExecutorService computationManagerExecutorService;
+
+    private ExecutorService resultSaveExecutorService;
+
+    @Getter(AccessLevel.NONE)
+    private Semaphore resultSavePermits;
+
     private ComputationManager computationManager;
 
     @SneakyThrows
     @PostConstruct
     private void postConstruct() {
         ContextSnapshotFactory snapshotFactory = ContextSnapshotFactory.builder().build();
-        executorService = ContextExecutorService.wrap(Executors.newCachedThreadPool(),
-            snapshotFactory::captureAll);
-        computationManager = new LocalComputationManager(getExecutorService());
+        switch (mode) {
+            case CACHED -> {
+                executorService = wrap(Executors.newCachedThreadPool(), snapshotFactory);
+                ioExecutorService = executorService;
+                computationManagerExecutorService = executorService;
+            }
+            case VIRTUAL_THREADS -> {
+                executorService = wrap(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(VIRTUAL_THREAD_NAME_PREFIX, 0).factory()),
+                    snapshotFactory);
+                ioExecutorService = executorService;
+                computationManagerExecutorService = executorService;
+            }
+            case BOUNDED -> {
+                cpuThreadPool = createBoundedPool(CPU_POOL_NAME, cpuPoolSize > 0 ? cpuPoolSize : Runtime.getRuntime().availableProcessors());
+                executorService = wrap(cpuThreadPool, snapshotFactory);
+                ioExecutorService = wrap(createBoundedPool(IO_POOL_NAME, ioPoolSize), snapshotFactory);
+                // the runs are admitted on the CPU pool, their subtasks are not bounded again
+                ThreadPoolExecutor computationManagerPool = new ThreadPoolExecutor(0, Integer.MAX_VALUE,
+                    IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(),
+                    Thread.ofPlatform().name(COMPUTATION_MANAGER_POOL_NAME + "-", 0).factory());
+                bindMetrics(computationManagerPool, COMPUTATION_MANAGER_POOL_NAME);
+                computationManagerExecutorService = wrap(computationManagerPool, snapshotFactory);
+            }
+        }
+        if (asyncResultSave) {
+            ThreadPoolExecutor resultSavePool = new ThreadPoolExecutor(resultSavePoolSize, resultSavePoolSize,
+                IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                // bounded by the in-flight permits
+                new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().name(RESULT_SAVE_POOL_NAME + "-", 0).factory());
+            resultSavePool.allowCoreThreadTimeOut(true);
+            bindMetrics(resultSavePool, RESULT_SAVE_POOL_NAME);
+            resultSaveExecutorService = wrap(resultSavePool, snapshotFactory);
+            resultSavePermits = new Semaphore(maxInFlightResultSaves);
+        }
+        computationManager = new LocalComputationManager(computationManagerExecutorService);
+    }
+
+    // propagates the context of the submitting thread, and accounts the resources used by the tasks to its run
+    private static ExecutorService wrap(ExecutorService executor, ContextSnapshotFactory snapshotFactory) {
+        return ContextExecutorService.wrap(new ResourceAccountingExecutorService(executor), snapshotFactory::captureAll);
+    }
+
+    private ThreadPoolExecutor createBoundedPool(String name, int poolSize) {
+        Counter rejectedCounter = meterRegistry == null ? null : Counter.builder(EXECUTOR_REJECTED_COUNTER_NAME)
+            .tag(POOL_TAG_NAME, name)
+            .register(meterRegistry);
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize,
+            IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            Thread.ofPlatform().name(name + "-", 0).factory(),
+            (task, executor) -> {
+                if (rejectedCounter != null) {
+                    rejectedCounter.increment();
+                }
+                throw new RejectedExecutionException("Pool " + name + " is saturated (" + executor.getActiveCount() + " active workers, "
+                    + executor.getQueue().size() + " queued tasks)");
+            });
+        pool.allowCoreThreadTimeOut(true);
+        bindMetrics(pool, name);
+        return pool;
     }
 
+    private void bindMetrics(ThreadPoolExecutor pool, String name) {
+        if (meterRegistry != null) {
+            // exposes active workers, queue depth and remaining queue capacity gauges, tagged with the pool name
+            new ExecutorServiceMetrics(pool, name, EXECUTOR_METRICS_PREFIX, Tags.empty()).bindTo(meterRegistry);
+        }
+    }
+
+    /**
+     * Admission control for a new run : fails fast when the CPU-bound pool cannot accept more work,
+     * before any network is loaded for the run.
+     * @throws RejectedExecutionException if the bounded CPU pool has no idle worker and a full wait queue
+     */
+    public void checkAdmission() {
+        if (cpuThreadPool != null
+            && cpuThreadPool.getActiveCount() >= cpuThreadPool.getMaximumPoolSize()
+            && cpuThreadPool.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("Pool " + CPU_POOL_NAME + " is saturated, run is not admitted");
+        }
+    }
+
+    /**
+     * Save a result in background, waiting for a slot when too many results are already being saved.
+     * The task is responsible for notifying the result once it is saved.
+     * @return false if asynchronous result saves are disabled or no longer accepted, the caller must then save inline
+     */
+    public boolean submitResultSave(Runnable saveTask) {
+        if (resultSaveExecutorService == null) {
+            return false;
+        }
+        try {
+            resultSavePermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        try {
+            resultSaveExecutorService.execute(() -> {
+                try {
+                    saveTask.run();
+                } finally {
+                    resultSavePermits.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            resultSavePermits.release();
+            return false;
+        }
+    }
+
+    @SneakyThrows
     @PreDestroy
     private void preDestroy() {
         executorService.shutdown();
+        if (ioExecutorService != executorService) {
+            ioExecutorService.shutdown();
+        }
+        if (computationManagerExecutorService != executorService) {
+            computationManagerExecutorService.shutdown();
+        }
+        if (resultSaveExecutorService != null) {
+            // let the results already computed be persisted
+            resultSaveExecutorService.shutdown();
+            resultSaveExecutorService.awaitTermination(RESULT_SAVE_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
     }
 }
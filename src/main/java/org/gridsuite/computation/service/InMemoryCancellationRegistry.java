@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * {@link CancellationRegistry} shared by the workers of a single application instance, e.g. for tests or a single
+ * replica deployment. Cancel requests are delivered synchronously to the owner of the run.
+ */
+public class InMemoryCancellationRegistry implements CancellationRegistry {
+    private final Map<UUID, String> runOwners = new ConcurrentHashMap<>();
+    private final CancelRequestRegistry cancelRequests;
+    private final Map<String, Consumer<CancelContext>> cancelListeners = new ConcurrentHashMap<>();
+    private final Map<String, LatestRun> latestRuns = new ConcurrentHashMap<>();
+    private final long latestRunTimeToLiveNanos;
+
+    private record LatestRun(UUID resultUuid, long expiryNanos) {
+        private boolean isExpired(long now) {
+            return now - expiryNanos >= 0;
+        }
+    }
+
+    public InMemoryCancellationRegistry(int maxCancelRequests, Duration cancelRequestTimeToLive) {
+        this.cancelRequests = new CancelRequestRegistry(maxCancelRequests, cancelRequestTimeToLive);
+        this.latestRunTimeToLiveNanos = cancelRequestTimeToLive.toNanos();
+    }
+
+    @Override
+    public void registerRun(UUID resultUuid, String workerId) {
+        runOwners.put(resultUuid, workerId);
+    }
+
+    @Override
+    public boolean tryLeaseRun(UUID resultUuid, String workerId) {
+        // the leases of a single instance cannot outlive their worker
+        return runOwners.putIfAbsent(resultUuid, workerId) == null;
+    }
+
+    @Override
+    public boolean unregisterRun(UUID resultUuid, String workerId) {
+        return runOwners.remove(resultUuid, workerId);
+    }
+
+    @Override
+    public Optional<String> getRunOwner(UUID resultUuid) {
+        return Optional.ofNullable(runOwners.get(resultUuid));
+    }
+
+    @Override
+    public void requestCancel(CancelContext cancelContext) {
+        cancelRequests.put(cancelContext.resultUuid(), cancelContext);
+        getRunOwner(cancelContext.resultUuid())
+                .map(cancelListeners::get)
+                .ifPresent(listener -> listener.accept(cancelContext));
+    }
+
+    @Override
+    public Optional<CancelContext> getCancelRequest(UUID resultUuid) {
+        return Optional.ofNullable(cancelRequests.get(resultUuid));
+    }
+
+    @Override
+    public void removeCancelRequest(UUID resultUuid) {
+        cancelRequests.remove(resultUuid);
+    }
+
+    @Override
+    public void recordLatestRun(String supersedeKey, UUID resultUuid) {
+        long now = System.nanoTime();
+        latestRuns.values().removeIf(latestRun -> latestRun.isExpired(now));
+        latestRuns.put(supersedeKey, new LatestRun(resultUuid, now + latestRunTimeToLiveNanos));
+    }
+
+    @Override
+    public Optional<UUID> getLatestRun(String supersedeKey) {
+        long now = System.nanoTime();
+        return Optional.ofNullable(latestRuns.get(supersedeKey))
+                .filter(latestRun -> !latestRun.isExpired(now))
+                .map(LatestRun::resultUuid);
+    }
+
+    @Override
+    public void addCancelListener(String workerId, Consumer<CancelContext> listener) {
+        cancelListeners.put(workerId, listener);
+    }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link CancellationRegistry} shared through the database of the computation server, whose tables are created by the
+ * changelog db/changelog/computation/cancellation_registry.xml, to include in the Liquibase changelog of the server.
+ * <p>
+ * Each worker polls the cancel requests of its runs periodically, the cancel requests and the latest runs older
+ * than their time to live are deleted. The runs of a worker killed abruptly are not unregistered, they have no effect
+ * but a cancel request is then not reported as failed. The leases of the runs of the listening workers are renewed by
+ * the same poll, the lease duration must be several poll periods long.
+ * <p>
+ * The cancel requests of the runs over are deleted at once, so that every worker sees the same registry. The
+ * statements are not vendor specific and must not be run within a transaction, a row inserted concurrently being
+ * updated after the failure of its insertion.
+ */
+public class JdbcCancellationRegistry implements CancellationRegistry, AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JdbcCancellationRegistry.class);
+
+    private static final RowMapper<CancelContext> CANCEL_CONTEXT_MAPPER = (resultSet, rowNum) -> new CancelContext(
+            resultSet.getObject("result_uuid", UUID.class), resultSet.getString("receiver"), resultSet.getString("user_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration cancelRequestTimeToLive;
+    private final Duration leaseDuration;
+    private final Map<String, Consumer<CancelContext>> cancelListeners = new ConcurrentHashMap<>();
+    // cancel requests already delivered, to deliver each request once
+    private final Set<UUID> deliveredCancelRequests = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
+
+    public JdbcCancellationRegistry(JdbcTemplate jdbcTemplate, Duration cancelRequestTimeToLive, Duration pollPeriod) {
+        this(jdbcTemplate, cancelRequestTimeToLive, pollPeriod, Duration.ofMinutes(1));
+    }
+
+    public JdbcCancellationRegistry(JdbcTemplate jdbcTemplate, Duration cancelRequestTimeToLive, Duration pollPeriod, Duration leaseDuration) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cancelRequestTimeToLive = cancelRequestTimeToLive;
+        this.leaseDuration = leaseDuration;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("computation-cancellation-registry").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::pollSafely, pollPeriod.toMillis(), pollPeriod.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void registerRun(UUID resultUuid, String workerId) {
+        Timestamp now = Timestamp.from(Instant.now());
+        insertOrUpdate("INSERT INTO computation_run_owner (result_uuid, worker_id, registration_time) VALUES (?, ?, ?)",
+                new Object[] {resultUuid, workerId, now},
+                "UPDATE computation_run_owner SET worker_id = ?, registration_time = ?, lease_expiry = NULL WHERE result_uuid = ?",
+                new Object[] {workerId, now, resultUuid});
+    }
+
+    @Override
+    public boolean tryLeaseRun(UUID resultUuid, String workerId) {
+        Instant now = Instant.now();
+        Timestamp registrationTime = Timestamp.from(now);
+        Timestamp leaseExpiry = Timestamp.from(now.plus(leaseDuration));
+        // an existing registration is only taken over without lease or with an expired lease, even from this worker
+        return insertOrUpdate("INSERT INTO computation_run_owner (result_uuid, worker_id, registration_time, lease_expiry) VALUES (?, ?, ?, ?)",
+                new Object[] {resultUuid, workerId, registrationTime, leaseExpiry},
+                "UPDATE computation_run_owner SET worker_id = ?, registration_time = ?, lease_expiry = ? "
+                        + "WHERE result_uuid = ? AND (lease_expiry IS NULL OR lease_expiry < ?)",
+                new Object[] {workerId, registrationTime, leaseExpiry, resultUuid, registrationTime});
+    }
+
+    @Override
+    public boolean unregisterRun(UUID resultUuid, String workerId) {
+        return jdbcTemplate.update("DELETE FROM computation_run_owner WHERE result_uuid = ? AND worker_id = ?", resultUuid, workerId) > 0;
+    }
+
+    @Override
+    public Optional<String> getRunOwner(UUID resultUuid) {
+        return jdbcTemplate.queryForList("SELECT worker_id FROM computation_run_owner WHERE result_uuid = ?", String.class, resultUuid)
+                .stream().findFirst();
+    }
+
+    @Override
+    public void requestCancel(CancelContext cancelContext) {
+        Timestamp now = Timestamp.from(Instant.now());
+        insertOrUpdate("INSERT INTO computation_cancel_request (result_uuid, receiver, user_id, request_time) VALUES (?, ?, ?, ?)",
+                new Object[] {cancelContext.resultUuid(), cancelContext.receiver(), cancelContext.userId(), now},
+                "UPDATE computation_cancel_request SET receiver = ?, user_id = ?, request_time = ? WHERE result_uuid = ?",
+                new Object[] {cancelContext.receiver(), cancelContext.userId(), now, cancelContext.resultUuid()});
+    }
+
+    @Override
+    public Optional<CancelContext> getCancelRequest(UUID resultUuid) {
+        return jdbcTemplate.query("SELECT result_uuid, receiver, user_id FROM computation_cancel_request WHERE result_uuid = ? AND request_time > ?",
+                CANCEL_CONTEXT_MAPPER, resultUuid, oldestValidRequestTime()).stream().findFirst();
+    }
+
+    @Override
+    public void removeCancelRequest(UUID resultUuid) {
+        jdbcTemplate.update("DELETE FROM computation_cancel_request WHERE result_uuid = ?", resultUuid);
+        deliveredCancelRequests.remove(resultUuid);
+    }
+
+    @Override
+    public void recordLatestRun(String supersedeKey, UUID resultUuid) {
+        Timestamp expiryTime = Timestamp.from(Instant.now().plus(cancelRequestTimeToLive));
+        insertOrUpdate("INSERT INTO computation_latest_run (supersede_key, result_uuid, expiry_time) VALUES (?, ?, ?)",
+                new Object[] {supersedeKey, resultUuid, expiryTime},
+                "UPDATE computation_latest_run SET result_uuid = ?, expiry_time = ? WHERE supersede_key = ?",
+                new Object[] {resultUuid, expiryTime, supersedeKey});
+    }
+
+    @Override
+    public Optional<UUID> getLatestRun(String supersedeKey) {
+        return jdbcTemplate.queryForList("SELECT result_uuid FROM computation_latest_run WHERE supersede_key = ? AND expiry_time > ?",
+                UUID.class, supersedeKey, Timestamp.from(Instant.now())).stream().findFirst();
+    }
+
+    @Override
+    public void addCancelListener(String workerId, Consumer<CancelContext> listener) {
+        cancelListeners.put(workerId, listener);
+    }
+
+    /**
+     * @return whether the row was inserted, or else updated by the update statement
+     */
+    private boolean insertOrUpdate(String insertSql, Object[] insertArgs, String updateSql, Object[] updateArgs) {
+        try {
+            return jdbcTemplate.update(insertSql, insertArgs) > 0;
+        } catch (DuplicateKeyException e) {
+            return jdbcTemplate.update(updateSql, updateArgs) > 0;
+        }
+    }
+
+    /**
+     * Deliver the cancel requests of the runs of the listening workers, delete the expired ones as well as the expired
+     * latest runs, and renew the leases
+     */
+    void poll() {
+        jdbcTemplate.update("DELETE FROM computation_cancel_request WHERE request_time <= ?", oldestValidRequestTime());
+        // the rows recorded before their expiry time was stored are purged as well
+        jdbcTemplate.update("DELETE FROM computation_latest_run WHERE expiry_time IS NULL OR expiry_time <= ?", Timestamp.from(Instant.now()));
+        Timestamp leaseExpiry = Timestamp.from(Instant.now().plus(leaseDuration));
+        cancelListeners.forEach((workerId, listener) -> {
+            jdbcTemplate.update("UPDATE computation_run_owner SET lease_expiry = ? WHERE worker_id = ? AND lease_expiry IS NOT NULL",
+                    leaseExpiry, workerId);
+            List<CancelContext> cancelRequests = jdbcTemplate.query("SELECT r.result_uuid, r.receiver, r.user_id FROM computation_cancel_request r "
+                    + "JOIN computation_run_owner o ON o.result_uuid = r.result_uuid WHERE o.worker_id = ?", CANCEL_CONTEXT_MAPPER, workerId);
+            cancelRequests.stream()
+                    .filter(cancelContext -> deliveredCancelRequests.add(cancelContext.resultUuid()))
+                    .forEach(listener);
+        });
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // the next polls must not be cancelled
+            LOGGER.error("Cancel requests poll failed", e);
+        }
+    }
+
+    private Timestamp oldestValidRequestTime() {
+        return Timestamp.from(Instant.now().minus(cancelRequestTimeToLive));
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.iidm.network.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Overlaps the network loading of the next run messages with the runs in progress.
+ * <p>
+ * The run binding is consumed by more threads than the number of runs allowed at the same time: the extra consumers
+ * form a small local buffer of upcoming messages. Each of them starts loading its network right away, then waits for a
+ * run slot. The number of networks loaded ahead is bounded, the messages beyond it load their network once they
+ * get a slot. A prefetch cancelled before its run starts is dropped.
+ */
+final class NetworkPrefetcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NetworkPrefetcher.class);
+    private static final long CANCELLATION_CHECK_PERIOD_MS = 100;
+
+    private final Semaphore runSlots;
+    private final Semaphore prefetchPermits;
+    private final Map<UUID, Prefetch> prefetches = new ConcurrentHashMap<>();
+
+    private record Prefetch(CompletableFuture<Network> network, AtomicBoolean cancelled) {
+        Prefetch() {
+            this(new CompletableFuture<>(), new AtomicBoolean());
+        }
+    }
+
+    NetworkPrefetcher(int maxConcurrentRuns, int maxPrefetchedNetworks) {
+        this.runSlots = new Semaphore(maxConcurrentRuns);
+        this.prefetchPermits = new Semaphore(maxPrefetchedNetworks);
+    }
+
+    /**
+     * Start loading the network of a run, wait for a run slot, then wait for the network.
+     * On success the caller owns a run slot and must give it back with {@link #releaseRunSlot()}.
+     * @param discardedNetworkHandler called with networks loaded for runs cancelled in the meantime
+     * @throws CancellationException if the run has been cancelled while waiting
+     */
+    Network acquireRunSlotAndNetwork(UUID resultUuid, Supplier<Network> loader, Executor executor, Consumer<Network> discardedNetworkHandler) {
+        Prefetch prefetch = startPrefetch(resultUuid, loader, executor, discardedNetworkHandler);
+        if (prefetch == null) {
+            awaitRunSlot(null);
+            return loadWithRunSlot(loader);
+        }
+        try {
+            awaitRunSlot(prefetch);
+            // the run now owns its network, a cancellation goes through the usual run cancellation
+            if (!prefetches.remove(resultUuid, prefetch)) {
+                runSlots.release();
+                throw new CancellationException("Run cancelled while waiting for a run slot");
+            }
+            prefetchPermits.release();
+        } catch (CancellationException e) {
+            discardLoadedNetwork(prefetch, discardedNetworkHandler);
+            throw e;
+        }
+        return loadWithRunSlot(() -> {
+            try {
+                return prefetch.network().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+            }
+        });
+    }
+
+    void releaseRunSlot() {
+        runSlots.release();
+    }
+
+    /**
+     * Drop the prefetch of a run still waiting for its slot
+     * @return true if the run was waiting and will not be executed
+     */
+    boolean cancel(UUID resultUuid) {
+        Prefetch prefetch = prefetches.remove(resultUuid);
+        if (prefetch == null) {
+            return false;
+        }
+        prefetchPermits.release();
+        prefetch.cancelled().set(true);
+        prefetch.network().cancel(false);
+        return true;
+    }
+
+    private Network loadWithRunSlot(Supplier<Network> loader) {
+        try {
+            return loader.get();
+        } catch (RuntimeException e) {
+            runSlots.release();
+            throw e;
+        }
+    }
+
+    private Prefetch startPrefetch(UUID resultUuid, Supplier<Network> loader, Executor executor, Consumer<Network> discardedNetworkHandler) {
+        if (!prefetchPermits.tryAcquire()) {
+            return null;
+        }
+        Prefetch prefetch = new Prefetch();
+        prefetches.put(resultUuid, prefetch);
+        try {
+            executor.execute(() -> {
+                if (prefetch.network().isDone()) {
+                    return;
+                }
+                try {
+                    Network network = loader.get();
+                    if (!prefetch.network().complete(network)) {
+                        discardedNetworkHandler.accept(network);
+                    }
+                } catch (RuntimeException e) {
+                    prefetch.network().completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Network prefetch rejected, the network will be loaded when the run starts (resultUuid='{}')", resultUuid);
+            if (prefetches.remove(resultUuid, prefetch)) {
+                prefetchPermits.release();
+            }
+            return null;
+        }
+        return prefetch;
+    }
+
+    private void awaitRunSlot(Prefetch prefetch) {
+        try {
+            while (!runSlots.tryAcquire(CANCELLATION_CHECK_PERIOD_MS, TimeUnit.MILLISECONDS)) {
+                if (prefetch != null && prefetch.cancelled().get()) {
+                    throw new CancellationException("Run cancelled while waiting for a run slot");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a run slot");
+        }
+    }
+
+    private static void discardLoadedNetwork(Prefetch prefetch, Consumer<Network> discardedNetworkHandler) {
+        // a network loaded after the cancellation is discarded by the loading task itself
+        if (prefetch.network().isDone() && !prefetch.network().isCompletedExceptionally()) {
+            discardedNetworkHandler.accept(prefetch.network().join());
+        }
+    }
+}
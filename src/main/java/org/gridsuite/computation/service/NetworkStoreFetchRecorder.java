@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.iidm.network.IdentifiableType;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Counts the collections fetched from the network store by the runs, to find the collections their workers should
+ * declare in their network data requirements. The rest client of the network store service is wrapped :
+ * <pre>{@code
+ * new NetworkStoreService(NetworkStoreFetchRecorder.wrap(RestClient.class, new RestClientImpl(baseUri)), preloadingStrategy)
+ * }</pre>
+ * The fetches are recorded in the {@link ComputationResourceUsage} of the run making them : the count of fetched
+ * equipments weighs the network in the {@link org.gridsuite.computation.network.NetworkCache}, and the fetches made
+ * once the network is loaded are the lazy loads of the collections not preloaded.
+ */
+public final class NetworkStoreFetchRecorder {
+    private static final String NETWORKS_PATH = "/networks/";
+
+    private static final Map<String, IdentifiableType> COLLECTIONS = Map.ofEntries(
+            Map.entry("substations", IdentifiableType.SUBSTATION),
+            Map.entry("voltage-levels", IdentifiableType.VOLTAGE_LEVEL),
+            Map.entry("switches", IdentifiableType.SWITCH),
+            Map.entry("busbar-sections", IdentifiableType.BUSBAR_SECTION),
+            Map.entry("configured-buses", IdentifiableType.BUS),
+            Map.entry("lines", IdentifiableType.LINE),
+            Map.entry("tie-lines", IdentifiableType.TIE_LINE),
+            Map.entry("2-windings-transformers", IdentifiableType.TWO_WINDINGS_TRANSFORMER),
+            Map.entry("3-windings-transformers", IdentifiableType.THREE_WINDINGS_TRANSFORMER),
+            Map.entry("generators", IdentifiableType.GENERATOR),
+            Map.entry("batteries", IdentifiableType.BATTERY),
+            Map.entry("loads", IdentifiableType.LOAD),
+            Map.entry("shunt-compensators", IdentifiableType.SHUNT_COMPENSATOR),
+            Map.entry("dangling-lines", IdentifiableType.DANGLING_LINE),
+            Map.entry("static-var-compensators", IdentifiableType.STATIC_VAR_COMPENSATOR),
+            Map.entry("vsc-converter-stations", IdentifiableType.HVDC_CONVERTER_STATION),
+            Map.entry("lcc-converter-stations", IdentifiableType.HVDC_CONVERTER_STATION),
+            Map.entry("hvdc-lines", IdentifiableType.HVDC_LINE),
+            Map.entry("grounds", IdentifiableType.GROUND));
+
+    private NetworkStoreFetchRecorder() {
+    }
+
+    /**
+     * Wrap a rest client so that its get requests on a network collection are recorded
+     */
+    public static <T> T wrap(Class<T> restClientInterface, T restClient) {
+        Object proxy = Proxy.newProxyInstance(restClientInterface.getClassLoader(), new Class<?>[] {restClientInterface},
+            (p, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(restClient, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                IdentifiableType collection = method.getName().startsWith("get") ? getCollection(args) : null;
+                if (collection != null) {
+                    ComputationResourceUsage.recordNetworkFetch(collection, countResources(result));
+                }
+                return result;
+            });
+        return restClientInterface.cast(proxy);
+    }
+
+    private static IdentifiableType getCollection(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                IdentifiableType collection = arg instanceof String url ? getCollection(url) : null;
+                if (collection != null) {
+                    return collection;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static long countResources(Object result) {
+        if (result instanceof Collection<?> resources) {
+            return resources.size();
+        }
+        if (result instanceof Optional<?> resource) {
+            return resource.isPresent() ? 1 : 0;
+        }
+        return result != null ? 1 : 0;
+    }
+
+    /**
+     * @return the collection requested by a network store url template, e.g. /networks/{networkId}/{variantNum}/generators
+     */
+    static IdentifiableType getCollection(String url) {
+        int networksIndex = url.indexOf(NETWORKS_PATH);
+        if (networksIndex < 0) {
+            return null;
+        }
+        String[] segments = url.substring(networksIndex + NETWORKS_PATH.length()).split("\\?")[0].split("/");
+        for (int i = segments.length - 1; i >= 0; i--) {
+            IdentifiableType collection = COLLECTIONS.get(segments[i]);
+            if (collection != null) {
+                return collection;
+            }
+        }
+        return null;
+    }
+}
@@ -6,7 +6,6 @@
  */
 package org.gridsuite.computation.service;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import org.gridsuite.computation.utils.annotations.PostCompletion;
@@ -25,7 +24,6 @@ import java.util.UUID;
 /**
  * @author Etienne Homer <etienne.homer at rte-france.com>
  */
-@AllArgsConstructor
 @Service
 public class NotificationService {
     private static final String CANCEL_CATEGORY_BROKER_OUTPUT = NotificationService.class.getName() + ".output-broker-messages.cancel";
@@ -49,6 +47,9 @@ public class NotificationService {
     public static final String HEADER_USER_ID = "userId";
     public static final String HEADER_DEBUG = "debug";
     public static final String HEADER_ERROR_MESSAGE = "errorMessage";
+    public static final String HEADER_CPU_TIME_MS = "cpuTimeMs";
+    public static final String HEADER_ALLOCATED_BYTES = "allocatedBytes";
+    public static final String HEADER_SUPERSEDE_KEY = "supersedeKey";
 
     public static final String SENDING_MESSAGE = "Sending message : {}";
 
@@ -56,12 +57,33 @@ public class NotificationService {
     @Getter @Setter
     private String publishPrefix;
 
+    private CancellationRegistry cancellationRegistry;
+
     @Autowired
     public NotificationService(StreamBridge publisher) {
         this(publisher, "publish");
     }
 
+    public NotificationService(StreamBridge publisher, String publishPrefix) {
+        this.publisher = publisher;
+        this.publishPrefix = publishPrefix;
+    }
+
+    /**
+     * Record the latest run of each supersede key, so that the workers skip the runs it supersedes
+     */
+    @Autowired(required = false)
+    public void setCancellationRegistry(CancellationRegistry cancellationRegistry) {
+        this.cancellationRegistry = cancellationRegistry;
+    }
+
     public void sendRunMessage(Message<String> message) {
+        String supersedeKey = message.getHeaders().get(HEADER_SUPERSEDE_KEY, String.class);
+        String resultUuid = message.getHeaders().get(HEADER_RESULT_UUID, String.class);
+        if (cancellationRegistry != null && supersedeKey != null && resultUuid != null) {
+            // recorded before sending, the run cannot be taken before it supersedes the previous ones
+            cancellationRegistry.recordLatestRun(supersedeKey, UUID.fromString(resultUuid));
+        }
         RUN_MESSAGE_LOGGER.debug(SENDING_MESSAGE, message);
         publisher.send(publishPrefix + "Run-out-0", message);
     }
@@ -122,6 +144,20 @@ public class NotificationService {
         publisher.send(publishPrefix + "CancelFailed-out-0", message);
     }
 
+    @PostCompletion
+    public void publishFail(UUID resultUuid, String receiver, String computationLabel, String userId, String errorMessage) {
+        Message<String> message = MessageBuilder
+                .withPayload("")
+                .setHeader(HEADER_RESULT_UUID, resultUuid.toString())
+                .setHeader(HEADER_RECEIVER, receiver)
+                .setHeader(HEADER_USER_ID, userId)
+                .setHeader(HEADER_MESSAGE, getFailedMessage(computationLabel))
+                .setHeader(HEADER_ERROR_MESSAGE, errorMessage)
+                .build();
+        FAILED_MESSAGE_LOGGER.debug(SENDING_MESSAGE, message);
+        publisher.send(publishPrefix + "Failed-out-0", message);
+    }
+
     public static String getCancelMessage(String computationLabel) {
         return computationLabel + " was canceled";
     }
@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Remote steps preparing a run, e.g. the deletion of its previous report or the prefetches of a worker, run
+ * concurrently with the loading of its network so that their latencies overlap.
+ * <p>
+ * The tasks are forked onto the I/O executor, or run immediately without it. {@link #join()} waits for all of them :
+ * the first failure cancels the others and is rethrown. Closing cancels the tasks still running, e.g. when the
+ * network could not be loaded.
+ */
+public final class PreRunTasks implements AutoCloseable {
+    private final CompletionService<Void> completionService;
+    private final List<Future<Void>> futures = new ArrayList<>();
+
+    PreRunTasks(ExecutorService executor) {
+        this.completionService = executor != null ? new ExecutorCompletionService<>(executor) : null;
+    }
+
+    /**
+     * Run a task concurrently with the network loading and the other tasks
+     */
+    public void fork(Runnable task) {
+        if (completionService == null) {
+            task.run();
+        } else {
+            futures.add(completionService.submit(task, null));
+        }
+    }
+
+    /**
+     * Wait for all the tasks
+     * @throws RuntimeException thrown by the first failed task, the others being cancelled
+     */
+    void join() {
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new CancellationException("Interrupted while waiting for the pre-run tasks");
+        } catch (ExecutionException e) {
+            close();
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        futures.forEach(future -> future.cancel(true));
+    }
+}
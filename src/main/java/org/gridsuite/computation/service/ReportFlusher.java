@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.commons.report.ReportNode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Sends the completed sections of the report of a run while it is still running, so that the progress of a long run
+ * is visible and its report does not stay in memory until the end.
+ * <p>
+ * A computation writing a large report, e.g. a section per batch of contingencies, opens a section, fills it then
+ * closes it. Without incremental flushing, the sections are the report node of the run itself. When
+ * computation.report.flush-period is set, each section is a separate report tree : the closed sections are sent
+ * together once the flush period has elapsed since the previous flush, then released. The report server appends them
+ * to the report of the run, each one being displayed as a separate report type node, before the rest of the report.
+ * The run ends with {@link #finish}, even when failed or cancelled : the sections still open then are incomplete, they
+ * are dropped.
+ */
+public class ReportFlusher {
+
+    /**
+     * Report tree of a section
+     * @param root root node, sent to the report server
+     * @param node report type node, filled by the computation
+     */
+    record Section(ReportNode root, ReportNode node) {
+    }
+
+    private final ReportNode runReportNode;
+    private final Supplier<Section> sectionFactory;
+    private final Consumer<ReportNode> reportSender;
+    private final Duration flushPeriod;
+    private final LongSupplier nanoClock;
+    // held while sending, so that the sections are sent in closing order
+    private final Object sendLock = new Object();
+    // guarded by this
+    private final Map<ReportNode, Section> openSections = new IdentityHashMap<>();
+    private final List<Section> closedSections = new ArrayList<>();
+    private long lastFlushNanos;
+    private boolean finished;
+
+    /**
+     * Flusher without incremental flushing, the sections are the given report node
+     */
+    public ReportFlusher(ReportNode runReportNode) {
+        this(runReportNode, null, null, null, System::nanoTime);
+    }
+
+    ReportFlusher(ReportNode runReportNode, Supplier<Section> sectionFactory, Consumer<ReportNode> reportSender, Duration flushPeriod,
+                  LongSupplier nanoClock) {
+        this.runReportNode = Objects.requireNonNull(runReportNode);
+        this.sectionFactory = sectionFactory;
+        this.reportSender = reportSender;
+        this.flushPeriod = flushPeriod;
+        this.nanoClock = nanoClock;
+        this.lastFlushNanos = nanoClock.getAsLong();
+    }
+
+    public boolean isIncremental() {
+        return flushPeriod != null;
+    }
+
+    /**
+     * @return the report node of a new section, to be closed once filled
+     */
+    public ReportNode openSection() {
+        if (!isIncremental()) {
+            return runReportNode;
+        }
+        Section section = sectionFactory.get();
+        synchronized (this) {
+            openSections.put(section.node(), section);
+        }
+        return section.node();
+    }
+
+    /**
+     * Mark a section as complete, the section must not be modified afterwards. The closed sections are sent once the
+     * flush period has elapsed. Sections closed once the run is finished, e.g. by a computation still stopping after
+     * its cancellation, are ignored.
+     */
+    public void closeSection(ReportNode sectionNode) {
+        if (!isIncremental()) {
+            return;
+        }
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            Section section = openSections.remove(sectionNode);
+            if (section == null) {
+                throw new IllegalArgumentException("Report section not open");
+            }
+            closedSections.add(section);
+            if (nanoClock.getAsLong() - lastFlushNanos < flushPeriod.toNanos()) {
+                return;
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Send the closed sections not sent yet, called before the report of the run is sent
+     */
+    public void flush() {
+        synchronized (sendLock) {
+            List<Section> sections;
+            synchronized (this) {
+                lastFlushNanos = nanoClock.getAsLong();
+                sections = new ArrayList<>(closedSections);
+                closedSections.clear();
+            }
+            // the report server appends them
+            sections.forEach(section -> reportSender.accept(section.root()));
+        }
+    }
+
+    /**
+     * Send the closed sections not sent yet at the end of the run, whatever its outcome, and drop the sections still
+     * open
+     * @return the count of dropped sections
+     */
+    public int finish() {
+        if (!isIncremental()) {
+            return 0;
+        }
+        int droppedSections;
+        synchronized (this) {
+            if (finished) {
+                return 0;
+            }
+            finished = true;
+            droppedSections = openSections.size();
+            openSections.clear();
+        }
+        flush();
+        return droppedSections;
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.commons.report.ReportConstants;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.ReportNodeAdder;
+import com.powsybl.commons.report.ReportNodeAdderOrBuilder;
+import com.powsybl.commons.report.TypedValue;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Bounds the size of the reports sent to the report server, some computations emitting a report node per contingency
+ * or per equipment with the same message template.
+ * <p>
+ * A report within the limits is sent as is. Otherwise a trimmed copy is sent : among the children of a node, the ones
+ * beyond max-repeated-messages with the same message template are replaced by a summary counting them, and the
+ * children beyond max-nodes-per-subtree nodes under the node are replaced by a summary counting the dropped nodes.
+ */
+public class ReportGovernor {
+    static final String AGGREGATED_REPORTS_KEY = "computation.report.aggregatedReports";
+    static final String DROPPED_REPORTS_KEY = "computation.report.droppedReports";
+
+    /**
+     * @param reportNode report to send, the given one when within the limits
+     * @param aggregatedNodes count of nodes replaced by an aggregated summary, including their children
+     * @param droppedNodes count of nodes dropped beyond the node limit, including their children
+     */
+    public record Governed(ReportNode reportNode, long aggregatedNodes, long droppedNodes) {
+        public boolean isTrimmed() {
+            return aggregatedNodes > 0 || droppedNodes > 0;
+        }
+    }
+
+    private static final class Aggregate {
+        private int count;
+        private TypedValue severity;
+    }
+
+    private static final class Counts {
+        private long aggregatedNodes;
+        private long droppedNodes;
+    }
+
+    private final ReportGovernorProperties.Limits limits;
+
+    public ReportGovernor(ReportGovernorProperties.Limits limits) {
+        this.limits = Objects.requireNonNull(limits);
+    }
+
+    public Governed govern(ReportNode reportNode) {
+        if (reportNode == ReportNode.NO_OP || countWithinLimits(reportNode) >= 0) {
+            return new Governed(reportNode, 0, 0);
+        }
+        Counts counts = new Counts();
+        ReportNode governedReportNode = copyMessage(ReportNode.newRootReportNode().withAllResourceBundlesFromClasspath(), reportNode).build();
+        copyChildren(reportNode, governedReportNode, limits.maxNodesPerSubtree(), counts);
+        return new Governed(governedReportNode, counts.aggregatedNodes, counts.droppedNodes);
+    }
+
+    /**
+     * @return count of nodes under the given one, -1 when beyond the limits
+     */
+    private int countWithinLimits(ReportNode reportNode) {
+        int count = 0;
+        Map<String, Integer> messageCounts = new HashMap<>();
+        for (ReportNode child : reportNode.getChildren()) {
+            int childCount = countWithinLimits(child);
+            if (childCount < 0 || messageCounts.merge(child.getMessageKey(), 1, Integer::sum) > limits.maxRepeatedMessages()) {
+                return -1;
+            }
+            count += 1 + childCount;
+            if (count > limits.maxNodesPerSubtree()) {
+                return -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @param maxNodes maximum count of nodes copied under the target, summaries excluded
+     * @return count of nodes copied under the target
+     */
+    private int copyChildren(ReportNode source, ReportNode target, int maxNodes, Counts counts) {
+        int copiedNodes = 0;
+        long droppedNodes = 0;
+        Map<String, Integer> messageCounts = new HashMap<>();
+        Map<String, Aggregate> aggregates = new LinkedHashMap<>();
+        for (ReportNode child : source.getChildren()) {
+            if (messageCounts.merge(child.getMessageKey(), 1, Integer::sum) > limits.maxRepeatedMessages()) {
+                Aggregate aggregate = aggregates.computeIfAbsent(child.getMessageKey(), k -> new Aggregate());
+                aggregate.count++;
+                if (aggregate.severity == null) {
+                    aggregate.severity = child.getValue(ReportConstants.SEVERITY_KEY).orElse(null);
+                }
+                counts.aggregatedNodes += countNodes(child);
+            } else if (copiedNodes < maxNodes) {
+                ReportNode copy = copyMessage(target.newReportNode(), child).add();
+                copiedNodes += 1 + copyChildren(child, copy, Math.min(limits.maxNodesPerSubtree(), maxNodes - copiedNodes - 1), counts);
+            } else {
+                droppedNodes += countNodes(child);
+            }
+        }
+        aggregates.forEach((messageKey, aggregate) -> {
+            ReportNodeAdder adder = target.newReportNode()
+                    .withMessageTemplate(AGGREGATED_REPORTS_KEY)
+                    .withUntypedValue("count", aggregate.count)
+                    .withUntypedValue("messageKey", messageKey);
+            if (aggregate.severity != null) {
+                adder.withSeverity(aggregate.severity);
+            }
+            adder.add();
+        });
+        if (droppedNodes > 0) {
+            target.newReportNode()
+                    .withMessageTemplate(DROPPED_REPORTS_KEY)
+                    .withUntypedValue("count", droppedNodes)
+                    .withUntypedValue("maxNodes", limits.maxNodesPerSubtree())
+                    .withSeverity(TypedValue.WARN_SEVERITY)
+                    .add();
+            counts.droppedNodes += droppedNodes;
+        }
+        return copiedNodes;
+    }
+
+    private static long countNodes(ReportNode reportNode) {
+        long count = 1;
+        for (ReportNode child : reportNode.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private static <T extends ReportNodeAdderOrBuilder<T>> T copyMessage(T adderOrBuilder, ReportNode reportNode) {
+        adderOrBuilder.withMessageTemplate(reportNode.getMessageKey());
+        reportNode.getValues().forEach((key, typedValue) -> copyValue(adderOrBuilder, key, typedValue));
+        return adderOrBuilder;
+    }
+
+    private static void copyValue(ReportNodeAdderOrBuilder<?> adderOrBuilder, String key, TypedValue typedValue) {
+        Object value = typedValue.getValue();
+        String type = typedValue.getType();
+        if (value instanceof Double doubleValue) {
+            adderOrBuilder.withTypedValue(key, doubleValue, type);
+        } else if (value instanceof Float floatValue) {
+            adderOrBuilder.withTypedValue(key, floatValue, type);
+        } else if (value instanceof Integer intValue) {
+            adderOrBuilder.withTypedValue(key, intValue, type);
+        } else if (value instanceof Long longValue) {
+            adderOrBuilder.withTypedValue(key, longValue, type);
+        } else if (value instanceof Boolean booleanValue) {
+            adderOrBuilder.withTypedValue(key, booleanValue, type);
+        } else {
+            adderOrBuilder.withTypedValue(key, String.valueOf(value), type);
+        }
+    }
+}
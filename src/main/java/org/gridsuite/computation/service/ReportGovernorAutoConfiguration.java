@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+
+/**
+ * Provides the {@link ReportGovernorProperties} to the workers when computation.report-governor.enabled is set, each
+ * worker governing its reports with the limits of its computation type.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "computation.report-governor.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReportGovernorProperties.class)
+public class ReportGovernorAutoConfiguration {
+}
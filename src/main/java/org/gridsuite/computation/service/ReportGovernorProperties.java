@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+/**
+ * @param enabled whether the reports are trimmed by a {@link ReportGovernor} before being sent
+ * @param defaultLimits limits of the computation types not listed in computationTypes
+ * @param computationTypes limits per computation type, e.g. computation-types[Security analysis].max-repeated-messages
+ */
+@ConfigurationProperties(prefix = "computation.report-governor")
+public record ReportGovernorProperties(boolean enabled,
+                                       @DefaultValue Limits defaultLimits,
+                                       Map<String, Limits> computationTypes) {
+
+    /**
+     * @param maxNodesPerSubtree maximum count of nodes kept under a report node, the next children are dropped
+     * @param maxRepeatedMessages maximum count of children of a report node kept with the same message template, the
+     *                            next ones are aggregated into a counted summary
+     */
+    public record Limits(@DefaultValue("10000") int maxNodesPerSubtree,
+                         @DefaultValue("100") int maxRepeatedMessages) {
+
+        public Limits {
+            if (maxNodesPerSubtree <= 0 || maxRepeatedMessages <= 0) {
+                throw new IllegalArgumentException("Report governor limits must be positive");
+            }
+        }
+    }
+
+    public ReportGovernorProperties {
+        computationTypes = computationTypes != null ? Map.copyOf(computationTypes) : Map.of();
+    }
+
+    public Limits getLimits(String computationType) {
+        return computationTypes.getOrDefault(computationType, defaultLimits);
+    }
+}
@@ -0,0 +1,356 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.commons.report.ReportNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers the reports of the runs to the report server asynchronously, so that a slow report server neither
+ * lengthens the runs nor holds their worker slot.
+ * <p>
+ * Deletions and uploads are queued per report UUID and delivered in order by the delivery threads, a failed delivery
+ * being retried with an exponential backoff until computation.report-outbox.max-attempts. A deletion makes the
+ * pending uploads of its report useless, they are dropped : a deletion followed by an upload, as requested by a run,
+ * is still delivered as two calls to the report server, which has no replacement endpoint. The reports are not
+ * batched either, each delivery is a call.
+ * <p>
+ * At most max-in-memory-reports report trees are kept in memory, the next ones are serialized into the spill
+ * directory until delivered. Beyond max-pending-reports reports, the runs wait for the delivery. The pending
+ * deliveries do not survive a restart, they are drained for at most drain-timeout on shutdown.
+ * <p>
+ * The result message of a run does not wait for the delivery of its report by default : the report may still be
+ * partial or missing when the result is notified, and is completed once delivered. A positive result-wait-timeout
+ * makes the result message wait for the delivery, holding the consumer thread, see {@link #awaitDelivery}.
+ */
+public class ReportOutbox implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReportOutbox.class);
+    private static final String METRIC_PREFIX = "app.computation.report.outbox.";
+    private static final int MAX_BACKOFF_SHIFT = 20;
+
+    /**
+     * Report to upload, either kept in memory or spilled into a file
+     */
+    private record PendingUpload(ReportNode reportNode, Path file) {
+    }
+
+    private static final class PendingReport {
+        // identity of the last deletion requested, null when none is pending
+        private Object deletion;
+        private final List<PendingUpload> uploads = new ArrayList<>();
+        // released by the delivery task once delivered, even if dropped meanwhile
+        private PendingUpload deliveredUpload;
+        private int failedAttempts;
+        // whether a delivery was dropped after max-attempts failures
+        private boolean dropped;
+    }
+
+    private final ReportService reportService;
+    private final ReportOutboxProperties properties;
+    private final Path spillDirectory;
+    private final ScheduledExecutorService scheduler;
+    // guarded by this, a report is pending until all its deliveries are done, then removed by its delivery task
+    private final Map<UUID, PendingReport> pendingReports = new HashMap<>();
+    private int inMemoryUploads;
+    private int spilledUploads;
+    private boolean closed;
+    private final AtomicLong retryCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    public ReportOutbox(ReportService reportService, ReportOutboxProperties properties, MeterRegistry meterRegistry) {
+        this.reportService = Objects.requireNonNull(reportService);
+        this.properties = properties;
+        try {
+            this.spillDirectory = properties.spillDirectory() != null
+                    ? Files.createDirectories(properties.spillDirectory())
+                    : Files.createTempDirectory("report-outbox");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.scheduler = Executors.newScheduledThreadPool(properties.deliveryThreads(),
+                Thread.ofPlatform().name("computation-report-outbox-", 0).daemon().factory());
+        if (meterRegistry != null) {
+            Gauge.builder(METRIC_PREFIX + "pending", this, ReportOutbox::getPendingReportCount).register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "spilled", this, ReportOutbox::getSpilledReportCount).register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + "retries", retryCount, AtomicLong::get).register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + "dropped", droppedCount, AtomicLong::get).register(meterRegistry);
+        }
+    }
+
+    /**
+     * Queue the deletion of a report, dropping its pending uploads
+     */
+    public void deleteReport(UUID reportUuid) {
+        Objects.requireNonNull(reportUuid);
+        List<PendingUpload> droppedUploads;
+        synchronized (this) {
+            PendingReport pendingReport = getPendingReport(reportUuid);
+            pendingReport.deletion = new Object();
+            droppedUploads = new ArrayList<>(pendingReport.uploads);
+            droppedUploads.remove(pendingReport.deliveredUpload);
+            pendingReport.uploads.clear();
+        }
+        droppedUploads.forEach(this::releaseUpload);
+    }
+
+    /**
+     * Queue the upload of a report, delivered after the deletions and uploads of the report queued before
+     */
+    public void sendReport(UUID reportUuid, ReportNode reportNode) {
+        Objects.requireNonNull(reportUuid);
+        boolean inMemory;
+        synchronized (this) {
+            inMemory = inMemoryUploads < properties.maxInMemoryReports();
+            if (inMemory) {
+                inMemoryUploads++;
+            }
+        }
+        PendingUpload upload = inMemory ? new PendingUpload(reportNode, null) : spill(reportNode);
+        try {
+            synchronized (this) {
+                getPendingReport(reportUuid).uploads.add(upload);
+            }
+        } catch (RuntimeException e) {
+            releaseUpload(upload);
+            throw e;
+        }
+    }
+
+    /**
+     * Wait for the deletions and uploads of a report queued so far to be delivered, for at most result-wait-timeout,
+     * returns at once when it is zero
+     * @return false if they are not delivered within the timeout, or if one of them was dropped
+     */
+    public boolean awaitDelivery(UUID reportUuid) {
+        synchronized (this) {
+            PendingReport pendingReport = pendingReports.get(reportUuid);
+            if (pendingReport == null) {
+                return true;
+            }
+            long deadline = System.nanoTime() + properties.resultWaitTimeout().toNanos();
+            try {
+                long remainingMillis = properties.resultWaitTimeout().toMillis();
+                while (!closed && pendingReports.get(reportUuid) == pendingReport && remainingMillis > 0) {
+                    wait(remainingMillis);
+                    remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            return pendingReports.get(reportUuid) != pendingReport && !pendingReport.dropped;
+        }
+    }
+
+    public synchronized int getPendingReportCount() {
+        return pendingReports.size();
+    }
+
+    public synchronized int getSpilledReportCount() {
+        return spilledUploads;
+    }
+
+    // called while holding the lock
+    private PendingReport getPendingReport(UUID reportUuid) {
+        try {
+            while (!closed && !pendingReports.containsKey(reportUuid) && pendingReports.size() >= properties.maxPendingReports()) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the report outbox");
+        }
+        if (closed) {
+            throw new IllegalStateException("Report outbox closed");
+        }
+        PendingReport pendingReport = pendingReports.get(reportUuid);
+        if (pendingReport == null) {
+            pendingReport = new PendingReport();
+            pendingReports.put(reportUuid, pendingReport);
+            scheduler.execute(() -> deliver(reportUuid));
+        }
+        return pendingReport;
+    }
+
+    private PendingUpload spill(ReportNode reportNode) {
+        Path file = null;
+        try {
+            file = Files.createTempFile(spillDirectory, "report-", ".json");
+            try (OutputStream out = Files.newOutputStream(file)) {
+                reportService.writeReport(out, reportNode);
+            }
+            synchronized (this) {
+                spilledUploads++;
+            }
+            return new PendingUpload(null, file);
+        } catch (IOException | UncheckedIOException e) {
+            // a full disk should not lose the report
+            LOGGER.warn("Report could not be spilled to {}, kept in memory", spillDirectory, e);
+            deleteFile(file);
+            synchronized (this) {
+                inMemoryUploads++;
+            }
+            return new PendingUpload(reportNode, null);
+        }
+    }
+
+    private void releaseUpload(PendingUpload upload) {
+        synchronized (this) {
+            if (upload.file() != null) {
+                spilledUploads--;
+            } else {
+                inMemoryUploads--;
+            }
+        }
+        deleteFile(upload.file());
+    }
+
+    private static void deleteFile(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOGGER.warn("Spilled report {} could not be deleted", file, e);
+        }
+    }
+
+    /**
+     * Deliver the deletions and uploads of a report in order, until none is pending
+     */
+    private void deliver(UUID reportUuid) {
+        while (true) {
+            PendingReport pendingReport;
+            Object deletion;
+            PendingUpload upload;
+            synchronized (this) {
+                pendingReport = pendingReports.get(reportUuid);
+                if (closed) {
+                    return;
+                }
+                deletion = pendingReport.deletion;
+                upload = deletion == null && !pendingReport.uploads.isEmpty() ? pendingReport.uploads.get(0) : null;
+                if (deletion == null && upload == null) {
+                    pendingReports.remove(reportUuid);
+                    notifyAll();
+                    return;
+                }
+                pendingReport.deliveredUpload = upload;
+            }
+            RuntimeException failure = null;
+            try {
+                if (deletion != null) {
+                    reportService.deleteReport(reportUuid);
+                } else if (upload.file() != null) {
+                    reportService.sendReport(reportUuid, upload.file());
+                } else {
+                    reportService.sendReport(reportUuid, upload.reportNode());
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            if (failure != null && retryLater(reportUuid, pendingReport, deletion, upload, failure)) {
+                return;
+            }
+            // delivered, obsolete or dropped
+            synchronized (this) {
+                pendingReport.failedAttempts = 0;
+                pendingReport.deliveredUpload = null;
+                // a deletion requested meanwhile is delivered again
+                if (deletion != null && pendingReport.deletion == deletion) {
+                    pendingReport.deletion = null;
+                }
+                pendingReport.uploads.remove(upload);
+            }
+            if (upload != null) {
+                releaseUpload(upload);
+            }
+        }
+    }
+
+    /**
+     * @return false if the failed delivery is dropped, either because it is obsolete or because it failed too often
+     */
+    private boolean retryLater(UUID reportUuid, PendingReport pendingReport, Object deletion, PendingUpload upload, RuntimeException failure) {
+        synchronized (this) {
+            boolean obsolete = deletion != null ? pendingReport.deletion != deletion : !pendingReport.uploads.contains(upload);
+            if (obsolete || closed) {
+                return false;
+            }
+            pendingReport.failedAttempts++;
+            if (pendingReport.failedAttempts < properties.maxAttempts()) {
+                long backoffMillis = getBackoff(pendingReport.failedAttempts).toMillis();
+                LOGGER.warn("{} of report {} failed, retried in {} ms : {}", deletion != null ? "Deletion" : "Upload",
+                        reportUuid, backoffMillis, failure.getMessage());
+                retryCount.incrementAndGet();
+                scheduler.schedule(() -> deliver(reportUuid), backoffMillis, TimeUnit.MILLISECONDS);
+                return true;
+            }
+            pendingReport.dropped = true;
+        }
+        LOGGER.error("{} of report {} failed {} times, dropped", deletion != null ? "Deletion" : "Upload",
+                reportUuid, properties.maxAttempts(), failure);
+        droppedCount.incrementAndGet();
+        return false;
+    }
+
+    private Duration getBackoff(int failedAttempts) {
+        Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(failedAttempts - 1, MAX_BACKOFF_SHIFT));
+        return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+    }
+
+    /**
+     * Wait for the pending reports to be delivered, for at most the drain timeout, then stop the delivery
+     */
+    @Override
+    public void close() {
+        List<PendingUpload> lostUploads = new ArrayList<>();
+        synchronized (this) {
+            long deadline = System.nanoTime() + properties.drainTimeout().toNanos();
+            try {
+                long remainingMillis = properties.drainTimeout().toMillis();
+                while (!pendingReports.isEmpty() && remainingMillis > 0) {
+                    wait(remainingMillis);
+                    remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            closed = true;
+            if (!pendingReports.isEmpty()) {
+                LOGGER.warn("{} reports not delivered on shutdown : {}", pendingReports.size(), pendingReports.keySet());
+            }
+            pendingReports.values().forEach(pendingReport -> lostUploads.addAll(pendingReport.uploads));
+            notifyAll();
+        }
+        scheduler.shutdownNow();
+        lostUploads.forEach(upload -> deleteFile(upload.file()));
+    }
+}
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Provides a {@link ReportOutbox} to the workers when computation.report-outbox.enabled is set.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "computation.report-outbox.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReportOutboxProperties.class)
+public class ReportOutboxAutoConfiguration {
+
+    @Bean
+    public ReportOutbox reportOutbox(ReportService reportService, ReportOutboxProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        return new ReportOutbox(reportService, properties, meterRegistry.getIfAvailable());
+    }
+}
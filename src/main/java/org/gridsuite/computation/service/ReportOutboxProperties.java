@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled whether the reports are delivered asynchronously by the {@link ReportOutbox}
+ * @param maxPendingReports maximum count of reports waiting for delivery, beyond it the runs wait for the delivery
+ * @param maxInMemoryReports maximum count of report trees kept in memory, the next ones are spilled to disk
+ * @param spillDirectory directory of the spilled reports, a temporary directory by default
+ * @param deliveryThreads count of threads delivering the reports
+ * @param maxAttempts maximum count of attempts of a delivery, after which it is dropped
+ * @param initialBackoff delay before the first retry of a delivery, doubled at each retry
+ * @param maxBackoff maximum delay between two attempts of a delivery
+ * @param drainTimeout maximum time waited on shutdown for the pending reports to be delivered
+ * @param resultWaitTimeout maximum time the result message of a run waits for the delivery of its report, holding the
+ *                          consumer thread. Zero by default : the result is notified at once, its report being partial
+ *                          or missing until delivered, as it is beyond the timeout or when a delivery of the report is
+ *                          dropped after max-attempts failures.
+ */
+@ConfigurationProperties(prefix = "computation.report-outbox")
+public record ReportOutboxProperties(boolean enabled,
+                                     @DefaultValue("1000") int maxPendingReports,
+                                     @DefaultValue("20") int maxInMemoryReports,
+                                     Path spillDirectory,
+                                     @DefaultValue("2") int deliveryThreads,
+                                     @DefaultValue("10") int maxAttempts,
+                                     @DefaultValue("1s") Duration initialBackoff,
+                                     @DefaultValue("5m") Duration maxBackoff,
+                                     @DefaultValue("30s") Duration drainTimeout,
+                                     @DefaultValue("0s") Duration resultWaitTimeout) {
+
+    public ReportOutboxProperties {
+        if (maxPendingReports <= 0 || maxInMemoryReports < 0 || deliveryThreads <= 0 || maxAttempts <= 0) {
+            throw new IllegalArgumentException("Report outbox limits must be positive");
+        }
+    }
+}
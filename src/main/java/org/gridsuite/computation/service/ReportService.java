@@ -17,12 +17,20 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * @author Anis Touri <anis.touri at rte-france.com>
@@ -33,9 +41,16 @@ public class ReportService {
     static final String REPORT_API_VERSION = "v1";
     private static final String DELIMITER = "/";
     private static final String QUERY_PARAM_REPORT_THROW_ERROR = "errorOnReportNotFound";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
     @Setter
     private String reportServerBaseUri;
 
+    // reports sent gzip encoded, the report server must decode the request content
+    @Setter
+    @Value("${gridsuite.services.report-server.gzip-requests:false}")
+    private boolean gzipRequests;
+
     private final RestTemplate restTemplate;
 
     private final ObjectMapper objectMapper;
@@ -53,17 +68,56 @@ public class ReportService {
     }
 
     public void sendReport(UUID reportUuid, ReportNode reportNode) {
+        sendReport(reportUuid, body -> writeReport(body, reportNode));
+    }
+
+    /**
+     * Send a report already serialized into a JSON file, e.g. spilled to disk by the {@link ReportOutbox}
+     */
+    public void sendReport(UUID reportUuid, Path reportFile) {
+        sendReport(reportUuid, body -> Files.copy(reportFile, body));
+    }
+
+    private void sendReport(UUID reportUuid, StreamingHttpOutputMessage.Body reportWriter) {
         Objects.requireNonNull(reportUuid);
 
         var path = UriComponentsBuilder.fromPath("{reportUuid}")
             .buildAndExpand(reportUuid)
             .toUriString();
-        var headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        // serialized straight into the request body, the heap used does not depend on the report size
+        restTemplate.execute(getReportServerURI() + path, HttpMethod.PUT, request -> writeRequest(request, reportWriter), null);
+    }
+
+    private void writeRequest(ClientHttpRequest request, StreamingHttpOutputMessage.Body reportWriter) throws IOException {
+        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        if (gzipRequests) {
+            request.getHeaders().set(HttpHeaders.CONTENT_ENCODING, GZIP_ENCODING);
+        }
+        if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+            // sent with chunked transfer encoding while serialized
+            streamingRequest.setBody(body -> writeBody(body, reportWriter));
+        } else {
+            writeBody(request.getBody(), reportWriter);
+        }
+    }
+
+    private void writeBody(OutputStream body, StreamingHttpOutputMessage.Body reportWriter) throws IOException {
+        // the request closes its body itself
+        OutputStream out = StreamUtils.nonClosing(body);
+        if (gzipRequests) {
+            out = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+        }
+        try (out) {
+            reportWriter.writeTo(out);
+        }
+    }
 
+    /**
+     * Serialize a report as sent to the report server
+     */
+    void writeReport(OutputStream out, ReportNode reportNode) throws IOException {
         try {
-            String str = objectMapper.writeValueAsString(reportNode);
-            restTemplate.exchange(getReportServerURI() + path, HttpMethod.PUT, new HttpEntity<>(str, headers), ReportNode.class);
+            objectMapper.writeValue(StreamUtils.nonClosing(out), reportNode);
         } catch (JsonProcessingException error) {
             throw new PowsyblException("Error sending report", error);
         }
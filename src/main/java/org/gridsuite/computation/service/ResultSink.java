@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bounded channel through which a computation streams its result while running.
+ * <p>
+ * Emitted items are grouped in chunks of a fixed size, handed over to a writer task persisting each chunk, typically
+ * with a JDBC batch insert. At most {@code maxPendingChunks} full chunks wait for the writer : beyond it, the
+ * computation waits, so the heap used by the result depends on the chunk size, not on the result size.
+ * Items emitted from several threads may be persisted out of emission order.
+ * <p>
+ * Obtained with {@link AbstractWorkerService#openResultSink}, which completes the sink once the computation is over,
+ * before the result is saved and notified, and aborts it when the run is cancelled or fails.
+ * @param <T> type of the result items
+ */
+public final class ResultSink<T> {
+    private static final long FAILURE_CHECK_PERIOD_MS = 100;
+
+    private final int chunkSize;
+    private final Consumer<List<T>> chunkWriter;
+    private final BlockingQueue<List<T>> pendingChunks;
+    // identity marker queued after the last chunk
+    private final List<T> endOfResult = new ArrayList<>(0);
+    private final CompletableFuture<Void> written = new CompletableFuture<>();
+    private final AtomicLong writtenItemCount = new AtomicLong();
+
+    private List<T> currentChunk;
+    private boolean completed;
+    private volatile boolean aborted;
+
+    ResultSink(int chunkSize, int maxPendingChunks, Consumer<List<T>> chunkWriter, Executor writerExecutor) {
+        if (chunkSize <= 0 || maxPendingChunks <= 0) {
+            throw new IllegalArgumentException("Chunk size and pending chunks must be positive");
+        }
+        this.chunkSize = chunkSize;
+        this.chunkWriter = Objects.requireNonNull(chunkWriter);
+        this.pendingChunks = new ArrayBlockingQueue<>(maxPendingChunks);
+        this.currentChunk = new ArrayList<>(chunkSize);
+        writerExecutor.execute(this::writeChunks);
+    }
+
+    /**
+     * Add an item to the result, waiting for the writer when too many chunks are pending
+     * @throws CancellationException if the run has been cancelled
+     * @throws RuntimeException thrown by the chunk writer, if a previous chunk could not be persisted
+     */
+    public void emit(T item) {
+        List<T> fullChunk = null;
+        synchronized (this) {
+            checkWriter();
+            if (completed) {
+                throw new IllegalStateException("Result sink already completed");
+            }
+            currentChunk.add(item);
+            if (currentChunk.size() >= chunkSize) {
+                fullChunk = currentChunk;
+                currentChunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (fullChunk != null) {
+            handOver(fullChunk);
+        }
+    }
+
+    public void emitAll(Collection<? extends T> items) {
+        items.forEach(this::emit);
+    }
+
+    /**
+     * Persist the last chunk and wait for all the chunks to be written
+     */
+    public void complete() {
+        List<T> lastChunk;
+        synchronized (this) {
+            if (completed) {
+                return;
+            }
+            completed = true;
+            lastChunk = currentChunk;
+            currentChunk = null;
+        }
+        if (!lastChunk.isEmpty()) {
+            handOver(lastChunk);
+        }
+        handOver(endOfResult);
+        joinWriter();
+    }
+
+    /**
+     * Drop the pending chunks and wait for the chunk being written, if any, so that nothing is persisted afterwards
+     */
+    public void abort() {
+        aborted = true;
+        synchronized (this) {
+            completed = true;
+            currentChunk = null;
+        }
+        // emitters waiting for room give up once aborted, only the marker has to get in
+        while (!written.isDone() && !pendingChunks.offer(endOfResult)) {
+            pendingChunks.clear();
+        }
+        try {
+            written.join();
+        } catch (CompletionException | CancellationException e) {
+            // already reported to the computation
+        }
+    }
+
+    public long getWrittenItemCount() {
+        return writtenItemCount.get();
+    }
+
+    private void handOver(List<T> chunk) {
+        try {
+            while (!pendingChunks.offer(chunk, FAILURE_CHECK_PERIOD_MS, TimeUnit.MILLISECONDS)) {
+                checkWriter();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for the result writer");
+        }
+    }
+
+    private void checkWriter() {
+        if (aborted) {
+            throw new CancellationException("Result sink aborted");
+        }
+        if (written.isCompletedExceptionally()) {
+            joinWriter();
+        }
+    }
+
+    private void joinWriter() {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException ? runtimeException : e;
+        }
+    }
+
+    private void writeChunks() {
+        try {
+            while (true) {
+                List<T> chunk = pendingChunks.take();
+                if (chunk == endOfResult) {
+                    written.complete(null);
+                    return;
+                }
+                if (!aborted) {
+                    chunkWriter.accept(chunk);
+                    writtenItemCount.addAndGet(chunk.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            written.completeExceptionally(new CancellationException("Result writer interrupted"));
+        } catch (RuntimeException e) {
+            written.completeExceptionally(e);
+        } finally {
+            // unblocks the emitters, which check the writer state
+            pendingChunks.clear();
+        }
+    }
+}
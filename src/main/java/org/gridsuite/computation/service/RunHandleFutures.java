@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Computation futures of the runs, as exposed by {@code AbstractWorkerService.futures} before the runs were tracked
+ * by {@link ComputationRunHandle}. Reads and writes go through the run handles : a future put here is started on the
+ * handle of its run, so that it is cancelled like the futures of the library.
+ * @param <R> powsybl Result class specific to the computation
+ */
+final class RunHandleFutures<R> extends AbstractMap<UUID, CompletableFuture<R>> {
+
+    private final Map<UUID, ComputationRunHandle<R>> runHandles;
+
+    RunHandleFutures(Map<UUID, ComputationRunHandle<R>> runHandles) {
+        this.runHandles = Objects.requireNonNull(runHandles);
+    }
+
+    @Override
+    public CompletableFuture<R> get(Object resultUuid) {
+        ComputationRunHandle<R> runHandle = runHandles.get(resultUuid);
+        return runHandle != null ? runHandle.getFuture() : null;
+    }
+
+    @Override
+    public boolean containsKey(Object resultUuid) {
+        return get(resultUuid) != null;
+    }
+
+    /**
+     * Start the future on the run handle, the future is cancelled when the run has already been cancelled
+     */
+    @Override
+    public CompletableFuture<R> put(UUID resultUuid, CompletableFuture<R> future) {
+        ComputationRunHandle<R> runHandle = runHandles.computeIfAbsent(resultUuid, uuid -> new ComputationRunHandle<>());
+        CompletableFuture<R> previous = runHandle.getFuture();
+        if (!runHandle.start(future)) {
+            future.cancel(true);
+        }
+        return previous;
+    }
+
+    @Override
+    public CompletableFuture<R> remove(Object resultUuid) {
+        ComputationRunHandle<R> runHandle = runHandles.remove(resultUuid);
+        return runHandle != null ? runHandle.getFuture() : null;
+    }
+
+    @Override
+    public Set<Entry<UUID, CompletableFuture<R>>> entrySet() {
+        // snapshot of the started runs
+        return runHandles.entrySet().stream()
+                .filter(entry -> entry.getValue().getFuture() != null)
+                .map(entry -> new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().getFuture()))
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
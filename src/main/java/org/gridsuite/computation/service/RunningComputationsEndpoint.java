@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Actuator endpoint listing the runs in progress in the workers of the application, the longest first,
+ * to spot the stuck runs before they starve the pod
+ */
+@Endpoint(id = "computations")
+public class RunningComputationsEndpoint {
+    private final ObjectProvider<AbstractWorkerService<?, ?, ?, ?>> workerServices;
+
+    public RunningComputationsEndpoint(ObjectProvider<AbstractWorkerService<?, ?, ?, ?>> workerServices) {
+        this.workerServices = workerServices;
+    }
+
+    @ReadOperation
+    public List<ComputationRunRegistry.RunningComputation> runningComputations() {
+        return workerServices.orderedStream()
+                .flatMap(workerService -> workerService.getRunRegistry().getRunningComputations().stream())
+                .sorted(Comparator.comparing(ComputationRunRegistry.RunningComputation::elapsed).reversed())
+                .toList();
+    }
+
+    /**
+     * @return the run in progress, null if there is none for this result (answered with a 404 status)
+     */
+    @ReadOperation
+    public ComputationRunRegistry.RunningComputation runningComputation(@Selector UUID resultUuid) {
+        return workerServices.orderedStream()
+                .flatMap(workerService -> workerService.getRunRegistry().getRunningComputation(resultUuid).stream())
+                .findFirst()
+                .orElse(null);
+    }
+}
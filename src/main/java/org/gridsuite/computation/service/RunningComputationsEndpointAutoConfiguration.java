@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Provides the computations actuator endpoint when the actuator is on the classpath.
+ * As any endpoint, it must be exposed with management.endpoints.web.exposure.include.
+ */
+@AutoConfiguration
+@ConditionalOnClass(Endpoint.class)
+public class RunningComputationsEndpointAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RunningComputationsEndpoint runningComputationsEndpoint(ObjectProvider<AbstractWorkerService<?, ?, ?, ?>> workerServices) {
+        return new RunningComputationsEndpoint(workerServices);
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Periodically compares the duration of the phase in progress of each run with the budget of the phase.
+ * <p>
+ * A run exceeding its budget, e.g. hanging in a provider or in a blocked network-store call, is reported once per
+ * phase : a warning is logged with the stacks of the threads running the phase, the app.computation.stalled counter
+ * is incremented and a {@link ComputationStallEvent} is recorded. It is then cancelled if configured so.
+ * During the run phase, the reported threads are the ones running the computation, as measured by the
+ * {@link ComputationResourceUsage} of the run, rather than the consumer thread waiting for it.
+ */
+public class StallWatchdog implements AutoCloseable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StallWatchdog.class);
+    private static final String STALLED_COUNTER_NAME = "app.computation.stalled";
+
+    private record WatchedWorker(String computationType, ComputationRunRegistry runRegistry, Consumer<CancelContext> canceller) {
+    }
+
+    private record StalledCounterKey(String computationType, String provider, ComputationPhase phase) {
+    }
+
+    private final StallWatchdogProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<WatchedWorker> watchedWorkers = new CopyOnWriteArrayList<>();
+    // start of the phase in progress already reported for each run, a run is reported once per phase
+    private final Map<UUID, Long> reportedPhaseStarts = new ConcurrentHashMap<>();
+    // registered at the first stall of their tags, then only incremented
+    private final Map<StalledCounterKey, Counter> stalledCounters = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public StallWatchdog(StallWatchdogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("computation-stall-watchdog").daemon().factory());
+        long checkPeriodMillis = properties.checkPeriod().toMillis();
+        scheduler.scheduleWithFixedDelay(this::checkSafely, checkPeriodMillis, checkPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Watch the runs in progress of a worker
+     * @param canceller cancels a run as a cancel request would
+     */
+    void watch(String computationType, ComputationRunRegistry runRegistry, Consumer<CancelContext> canceller) {
+        watchedWorkers.add(new WatchedWorker(computationType, runRegistry, canceller));
+    }
+
+    /**
+     * Check the runs in progress, usually called periodically
+     */
+    void check() {
+        long now = System.nanoTime();
+        for (WatchedWorker worker : watchedWorkers) {
+            worker.runRegistry().forEachRun((resultUuid, runContext) -> {
+                AbstractComputationRunContext.PhaseProgress phaseProgress = runContext.getPhaseProgress();
+                Duration budget = phaseProgress != null ? properties.getBudget(phaseProgress.phase()) : null;
+                if (budget != null && now - phaseProgress.startNanos() > budget.toNanos()
+                        && !Long.valueOf(phaseProgress.startNanos()).equals(reportedPhaseStarts.put(resultUuid, phaseProgress.startNanos()))) {
+                    reportStall(worker, resultUuid, runContext, phaseProgress, Duration.ofNanos(now - phaseProgress.startNanos()), budget);
+                }
+            });
+        }
+        // forget the runs over
+        reportedPhaseStarts.keySet().removeIf(resultUuid -> watchedWorkers.stream()
+                .noneMatch(worker -> worker.runRegistry().getRunningComputation(resultUuid).isPresent()));
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            // the next checks must not be cancelled
+            LOGGER.error("Stalled computations check failed", e);
+        }
+    }
+
+    private void reportStall(WatchedWorker worker, UUID resultUuid, AbstractComputationRunContext<?> runContext,
+                             AbstractComputationRunContext.PhaseProgress phaseProgress, Duration elapsed, Duration budget) {
+        String provider = runContext.getProvider() != null ? runContext.getProvider() : "unknown-provider";
+        List<Thread> stalledThreads = getStalledThreads(runContext, phaseProgress);
+        if (LOGGER.isWarnEnabled()) {
+            String stackTraces = stalledThreads.stream()
+                    .map(thread -> "thread '" + thread.getName() + "':" + System.lineSeparator() + Arrays.stream(thread.getStackTrace())
+                            .map(element -> "\tat " + element)
+                            .collect(Collectors.joining(System.lineSeparator())))
+                    .collect(Collectors.joining(System.lineSeparator()));
+            LOGGER.warn("{} run stalled in phase {} for {} (budget {}, resultUuid='{}', provider='{}', networkUuid='{}'), {}",
+                    worker.computationType(), phaseProgress.phase().getTagValue(), elapsed, budget, resultUuid, provider,
+                    runContext.getNetworkUuid(), stackTraces);
+        }
+        if (meterRegistry != null) {
+            stalledCounters.computeIfAbsent(new StalledCounterKey(worker.computationType(), provider, phaseProgress.phase()),
+                    key -> Counter.builder(STALLED_COUNTER_NAME)
+                            .tag("type", key.computationType())
+                            .tag("provider", key.provider())
+                            .tag("phase", key.phase().getTagValue())
+                            .register(meterRegistry))
+                    .increment();
+        }
+        ComputationStallEvent event = new ComputationStallEvent();
+        if (event.shouldCommit()) {
+            event.phase = phaseProgress.phase().getTagValue();
+            event.resultUuid = resultUuid.toString();
+            event.computationType = worker.computationType();
+            event.provider = provider;
+            event.networkUuid = String.valueOf(runContext.getNetworkUuid());
+            event.phaseElapsed = elapsed.toMillis();
+            event.budget = budget.toMillis();
+            event.threadName = stalledThreads.get(0).getName();
+            event.commit();
+        }
+        if (properties.cancelStalledRuns()) {
+            try {
+                worker.canceller().accept(new CancelContext(resultUuid, runContext.getReceiver(), runContext.getUserId()));
+            } catch (RuntimeException e) {
+                LOGGER.error("{} stalled run could not be cancelled (resultUuid='{}')", worker.computationType(), resultUuid, e);
+            }
+        }
+    }
+
+    /**
+     * @return the threads running the computation during the run phase, the consumer thread only waiting for them,
+     * else the thread running the phase
+     */
+    static List<Thread> getStalledThreads(AbstractComputationRunContext<?> runContext, AbstractComputationRunContext.PhaseProgress phaseProgress) {
+        if (phaseProgress.phase() == ComputationPhase.RUN) {
+            List<Thread> computationThreads = runContext.getResourceUsage().getMeasuredThreads().stream()
+                    .filter(thread -> thread != phaseProgress.thread())
+                    .toList();
+            if (!computationThreads.isEmpty()) {
+                return computationThreads;
+            }
+        }
+        return List.of(phaseProgress.thread());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param enabled whether the runs in progress are watched
+ * @param checkPeriod period of the checks of the runs in progress
+ * @param defaultBudget maximum duration of the phases without budget, null to not watch them
+ * @param phaseBudgets maximum duration of each phase, e.g. phase-budgets.network-load=10m
+ * @param cancelStalledRuns whether the runs exceeding their budget are cancelled, as with a cancel request
+ */
+@ConfigurationProperties(prefix = "computation.stall-watchdog")
+public record StallWatchdogProperties(boolean enabled,
+                                      @DefaultValue("30s") Duration checkPeriod,
+                                      Duration defaultBudget,
+                                      Map<ComputationPhase, Duration> phaseBudgets,
+                                      boolean cancelStalledRuns) {
+
+    public StallWatchdogProperties {
+        phaseBudgets = phaseBudgets != null ? Map.copyOf(phaseBudgets) : Map.of();
+    }
+
+    /**
+     * @return the maximum duration of the phase, null if it is not watched
+     */
+    public Duration getBudget(ComputationPhase phase) {
+        return phaseBudgets.getOrDefault(phase, defaultBudget);
+    }
+}
@@ -14,13 +14,18 @@ import com.powsybl.computation.local.LocalComputationConfig;
 import com.powsybl.computation.local.LocalComputationManager;
 import com.powsybl.iidm.network.Network;
 import com.powsybl.iidm.network.VariantManager;
+import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.network.store.client.NetworkStoreService;
 import com.powsybl.network.store.client.PreloadingStrategy;
 import com.powsybl.ws.commons.ZipUtils;
 import com.powsybl.ws.commons.error.ServerNameProvider;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.micrometer.observation.ObservationRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.Setter;
@@ -28,6 +33,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.WithAssertions;
 import org.gridsuite.computation.dto.ReportInfos;
 import org.gridsuite.computation.error.ComputationRunException;
+import org.gridsuite.computation.network.NetworkCache;
 import org.gridsuite.computation.s3.ComputationS3Service;
 import org.gridsuite.computation.s3.S3InputStreamInfos;
 import org.gridsuite.computation.service.*;
@@ -35,10 +41,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
@@ -47,6 +58,7 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
@@ -54,13 +66,20 @@ import java.io.UncheckedIOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.gridsuite.computation.s3.ComputationS3Service.S3_DELIMITER;
 import static org.gridsuite.computation.s3.ComputationS3Service.S3_SERVICE_NOT_AVAILABLE_MESSAGE;
@@ -130,6 +149,11 @@ class ComputationTest implements WithAssertions {
         public MockComputationStatus findStatus(UUID resultUuid) {
             return mockDBStatus.get(resultUuid);
         }
+
+        @Override
+        public boolean isResultComplete(UUID resultUuid) {
+            return mockDBStatus.get(resultUuid) == MockComputationStatus.COMPLETED;
+        }
     }
 
     private static class MockComputationObserver extends AbstractComputationObserver<Object, Object> {
@@ -186,7 +210,9 @@ class ComputationTest implements WithAssertions {
         SUCCESS,
         FAIL,
         CANCELLED,
-        COMPLETED
+        COMPLETED,
+        POLLING,
+        STREAMED
     }
 
     private static class MockComputationWorkerService
@@ -213,6 +239,9 @@ class ComputationTest implements WithAssertions {
 
         @Override
         protected void saveResult(Network network, AbstractResultContext<MockComputationRunContext> resultContext, Object result) {
+            if (failingSave) {
+                throw new IllegalStateException("Result could not be saved");
+            }
             // Empty implementation - this is a mock/test implementation that doesn't need to persist results
             // The actual result saving is handled by the real implementation or is not needed for testing
         }
@@ -236,12 +265,46 @@ class ComputationTest implements WithAssertions {
                     return CompletableFuture.supplyAsync(Object::new);
                 case COMPLETED:
                     return CompletableFuture.completedFuture(null);
+                case STREAMED: {
+                    ResultSink<Integer> resultSink = openResultSink(resultUuid, streamedChunks::add);
+                    return CompletableFuture.supplyAsync(() -> {
+                        IntStream.range(0, 5).forEach(resultSink::emit);
+                        return new Object();
+                    });
+                }
+                case POLLING:
+                    // never ending computation, only stopped through its cancellation token
+                    return CompletableFuture.supplyAsync(() -> {
+                        while (true) {
+                            runContext.getCancellationToken().throwIfCancellationRequested();
+                            Thread.onSpinWait();
+                        }
+                    });
             }
             return completableFuture;
         }
 
+        @Setter
+        private boolean networkReusable;
+
+        @Setter
+        private boolean failingSave;
+
+        private final List<List<Integer>> streamedChunks = new CopyOnWriteArrayList<>();
+
+        @Override
+        protected boolean isNetworkReusable() {
+            return networkReusable;
+        }
+
         public void addFuture(UUID id, CompletableFuture<Object> future) {
-            this.futures.put(id, future);
+            ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>();
+            runHandle.start(future);
+            this.runHandles.put(id, runHandle);
+        }
+
+        public boolean hasRunHandle(UUID id) {
+            return this.runHandles.containsKey(id);
         }
     }
 
@@ -267,17 +330,7 @@ class ComputationTest implements WithAssertions {
         tmpDir = Files.createDirectory(fileSystem.getPath("tmp"));
 
         notificationService = new NotificationService(publisher);
-        workerService = new MockComputationWorkerService(
-                networkStoreService,
-                notificationService,
-                reportService,
-                resultService,
-                computationS3Service,
-                executionService,
-                new MockComputationObserver(ObservationRegistry.create(), new SimpleMeterRegistry()),
-                objectMapper,
-                () -> "test"
-        );
+        workerService = newWorkerService(new SimpleMeterRegistry());
         computationService = new MockComputationService(notificationService, resultService, computationS3Service, objectMapper, uuidGeneratorService, provider);
 
         MessageBuilder<String> builder = MessageBuilder
@@ -292,6 +345,12 @@ class ComputationTest implements WithAssertions {
         resultContext = new MockComputationResultContext(RESULT_UUID, runContext);
     }
 
+    private MockComputationWorkerService newWorkerService(MeterRegistry meterRegistry) {
+        return new MockComputationWorkerService(networkStoreService, notificationService, reportService, resultService,
+                computationS3Service, executionService, new MockComputationObserver(ObservationRegistry.create(), meterRegistry),
+                objectMapper, () -> "test");
+    }
+
     @AfterEach
     void tearDown() throws IOException {
         fileSystem.close();
@@ -316,6 +375,218 @@ class ComputationTest implements WithAssertions {
         verify(notificationService.getPublisher(), times(1)).send(eq("publishResult-out-0"), isA(Message.class));
     }
 
+    @Test
+    void testStreamedResultPersistedBeforeNotification() {
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.STREAMED);
+
+        workerService.consumeRun().accept(message);
+
+        assertThat(workerService.streamedChunks).containsExactly(List.of(0, 1, 2, 3, 4));
+        verify(notificationService.getPublisher(), times(1)).send(eq("publishResult-out-0"), isA(Message.class));
+    }
+
+    @Test
+    void testResultNotifiedOnceSavedInBackground() {
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        List<Runnable> resultSaves = new ArrayList<>();
+        when(executionService.submitResultSave(any())).thenAnswer(invocation -> resultSaves.add(invocation.getArgument(0)));
+
+        workerService.consumeRun().accept(message);
+
+        // the run message is acknowledged before the result is saved
+        assertThat(resultSaves).hasSize(1);
+        verify(notificationService.getPublisher(), never()).send(eq("publishResult-out-0"), isA(Message.class));
+
+        resultSaves.getFirst().run();
+        verify(notificationService.getPublisher(), times(1)).send(eq("publishResult-out-0"), isA(Message.class));
+    }
+
+    @Test
+    void testResultSaveFailureInBackgroundIsNotified() {
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        resultService.insertStatus(List.of(RESULT_UUID), MockComputationStatus.RUNNING);
+        List<Runnable> resultSaves = new ArrayList<>();
+        when(executionService.submitResultSave(any())).thenAnswer(invocation -> resultSaves.add(invocation.getArgument(0)));
+        workerService.setFailingSave(true);
+
+        workerService.consumeRun().accept(message);
+        resultSaves.getFirst().run();
+
+        assertNull(resultService.findStatus(RESULT_UUID));
+        verify(notificationService.getPublisher(), times(1)).send(eq("publishFailed-out-0"), isA(Message.class));
+        verify(notificationService.getPublisher(), never()).send(eq("publishResult-out-0"), isA(Message.class));
+    }
+
+    @Test
+    void testRunPhasesAreTimed() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        workerService = newWorkerService(meterRegistry);
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+
+        workerService.consumeRun().accept(message);
+
+        for (ComputationPhase phase : List.of(ComputationPhase.NETWORK_LOAD, ComputationPhase.PRE_RUN, ComputationPhase.RUN,
+                ComputationPhase.POST_RUN, ComputationPhase.RESULT_SAVE, ComputationPhase.RESULT_NOTIFICATION)) {
+            Timer timer = meterRegistry.get("app.computation.phase.duration")
+                    .tag("type", COMPUTATION_TYPE)
+                    .tag("provider", provider)
+                    .tag("phase", phase.getTagValue())
+                    .timer();
+            assertThat(timer.count()).as(phase.name()).isEqualTo(1);
+            assertThat(timer.takeSnapshot().percentileValues()).hasSize(3);
+            assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+        }
+        assertThat(meterRegistry.get("app.computation.phase.duration").tag("phase", ComputationPhase.DEBUG_UPLOAD.getTagValue()).timer().count()).isZero();
+    }
+
+    @Test
+    void testObserverMetersAreRegisteredOnce() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockComputationObserver observer = new MockComputationObserver(ObservationRegistry.create(), meterRegistry);
+
+        observer.observeRun("run", runContext, () -> "result");
+        observer.observeCancellationStop(runContext, CancellationToken.Reason.CANCEL_REQUEST, Duration.ofMillis(10));
+        observer.observeSuperseded(runContext);
+        int meterCount = meterRegistry.getMeters().size();
+        observer.observeRun("run", runContext, () -> "result");
+        observer.observePhase(ComputationPhase.RUN, runContext, () -> { });
+        observer.observeCancellationStop(runContext, CancellationToken.Reason.CANCEL_REQUEST, Duration.ofMillis(10));
+        observer.observeSuperseded(runContext);
+
+        assertThat(meterRegistry.getMeters()).hasSize(meterCount);
+        assertThat(meterRegistry.get("app.computation.superseded").tag("provider", provider).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.computation.count").tag("status", "OK").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.computation.cancellation.stop.latency").tag("reason", "CANCEL_REQUEST").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("app.computation.current.count").tag("provider", provider).gauge().value()).isZero();
+    }
+
+    @Test
+    void testReportTrimmedCountersAreRegisteredOnce() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MockComputationObserver observer = new MockComputationObserver(ObservationRegistry.create(), meterRegistry);
+
+        observer.observeReportTrimmed(3, 0);
+        int meterCount = meterRegistry.getMeters().size();
+        observer.observeReportTrimmed(2, 0);
+
+        assertThat(meterRegistry.getMeters()).hasSize(meterCount);
+        assertThat(meterRegistry.get("app.computation.report.trimmed.nodes").tag("reason", "aggregated").counter().count()).isEqualTo(5);
+        assertThat(meterRegistry.find("app.computation.report.trimmed.nodes").tag("reason", "dropped").counter()).isNull();
+    }
+
+    @Test
+    void testQueueWaitIsObserved() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        workerService = newWorkerService(meterRegistry);
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        Message<String> publishedMessage = MessageBuilder.fromMessage(message)
+                .setHeader(AbstractResultContext.PUBLISH_TIMESTAMP_HEADER, System.currentTimeMillis() - 2000)
+                .build();
+
+        workerService.consumeRun().accept(publishedMessage);
+
+        Timer queueWait = meterRegistry.get("app.computation.queue.wait").tag("type", COMPUTATION_TYPE).timer();
+        assertThat(queueWait.count()).isEqualTo(1);
+        assertThat(queueWait.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2000);
+        assertThat(queueWait.takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(meterRegistry.get("app.computation.queue.wait.last").gauge().value()).isGreaterThanOrEqualTo(2);
+
+        // messages published without timestamp are not observed
+        workerService.consumeRun().accept(message);
+        assertThat(queueWait.count()).isEqualTo(1);
+
+        // nor messages with a malformed one, which are still run
+        Message<String> malformedMessage = MessageBuilder.fromMessage(message)
+                .setHeader(AbstractResultContext.PUBLISH_TIMESTAMP_HEADER, "not-a-timestamp")
+                .build();
+        assertDoesNotThrow(() -> workerService.consumeRun().accept(malformedMessage));
+        assertThat(queueWait.count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRunPhasesAreRecordedAsFlightRecorderEvents() throws IOException {
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        Path recordingFile = Files.createTempFile("computation", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.gridsuite.computation.ComputationPhase").withoutThreshold();
+            recording.start();
+            workerService.consumeRun().accept(message);
+            recording.stop();
+            recording.dump(recordingFile);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+            assertThat(events).extracting(event -> event.getString("phase")).contains(
+                    ComputationPhase.NETWORK_LOAD.getTagValue(), ComputationPhase.RUN.getTagValue(),
+                    ComputationPhase.RESULT_SAVE.getTagValue(), ComputationPhase.REPORT_SEND.getTagValue());
+            assertThat(events).allSatisfy(event -> {
+                assertThat(event.getString("resultUuid")).isEqualTo(RESULT_UUID.toString());
+                assertThat(event.getString("computationType")).isEqualTo(COMPUTATION_TYPE);
+                assertThat(event.getString("provider")).isEqualTo(provider);
+                assertThat(event.getString("networkUuid")).isEqualTo(networkUuid.toString());
+            });
+        } finally {
+            Files.delete(recordingFile);
+        }
+    }
+
+    @Test
+    void testResourceUsageIsObservedAndAddedToResultMessage() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        workerService = newWorkerService(meterRegistry);
+        ReflectionTestUtils.setField(workerService, "resourceUsageHeaders", true);
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+
+        workerService.consumeRun().accept(message);
+
+        assertThat(meterRegistry.get("app.computation.cpu.time").tag("provider", provider).summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.computation.allocated.bytes").tag("provider", provider).summary().totalAmount()).isPositive();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Message<String>> resultMessage = ArgumentCaptor.forClass(Message.class);
+        verify(notificationService.getPublisher()).send(eq("publishResult-out-0"), resultMessage.capture());
+        assertThat(resultMessage.getValue().getHeaders()).containsKeys(HEADER_CPU_TIME_MS, HEADER_ALLOCATED_BYTES);
+        assertThat((Long) resultMessage.getValue().getHeaders().get(HEADER_ALLOCATED_BYTES)).isPositive();
+    }
+
+    @Test
+    void testComputationReusesCachedNetwork() {
+        initComputationExecution();
+        workerService.setNetworkCache(new NetworkCache(10, 1, Duration.ofMinutes(1)));
+        workerService.setNetworkReusable(true);
+        when(variantManager.getVariantIds()).thenReturn(List.of(VariantManagerConstants.INITIAL_VARIANT_ID));
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+
+        workerService.consumeRun().accept(message);
+        workerService.consumeRun().accept(message);
+
+        verify(networkStoreService, times(1)).getNetwork(eq(networkUuid), any(PreloadingStrategy.class));
+        verify(notificationService.getPublisher(), times(2)).send(eq("publishResult-out-0"), isA(Message.class));
+    }
+
+    @Test
+    void testCachedNetworkMissingTheVariantIsReloaded() {
+        initComputationExecution();
+        NetworkCache networkCache = new NetworkCache(10, 1, Duration.ofMinutes(1));
+        workerService.setNetworkCache(networkCache);
+        workerService.setNetworkReusable(true);
+        // the variant has been created after the network was cached
+        when(variantManager.getVariantIds()).thenReturn(List.of());
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+
+        workerService.consumeRun().accept(message);
+        workerService.consumeRun().accept(message);
+
+        verify(networkStoreService, times(2)).getNetwork(eq(networkUuid), any(PreloadingStrategy.class));
+        assertThat(networkCache.getEvictionCount()).isEqualTo(1);
+        verify(notificationService.getPublisher(), times(2)).send(eq("publishResult-out-0"), isA(Message.class));
+    }
+
     @Test
     void testComputationFailed() {
         // inits
@@ -384,6 +655,168 @@ class ComputationTest implements WithAssertions {
         verify(notificationService.getPublisher(), times(1)).send(eq("publishCancelFailed-out-0"), isA(Message.class));
     }
 
+    @Test
+    void testCancelReachesTheWorkerRunningTheResult() throws InterruptedException {
+        InMemoryCancellationRegistry cancellationRegistry = new InMemoryCancellationRegistry(100, Duration.ofHours(1));
+        MockComputationWorkerService otherWorkerService = newWorkerService(new SimpleMeterRegistry());
+        workerService.setCancellationRegistry(cancellationRegistry);
+        otherWorkerService.setCancellationRegistry(cancellationRegistry);
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.POLLING);
+
+        Thread consumer = Thread.ofPlatform().start(() -> workerService.consumeRun().accept(message));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (workerService.getRunRegistry().getRunningComputationCount(ComputationPhase.RUN) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // the cancel message is consumed by a worker not running the result
+        otherWorkerService.consumeCancel().accept(message);
+
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(consumer.isAlive());
+        assertThat(runContext.getCancellationToken().getReason()).isEqualTo(CancellationToken.Reason.CANCEL_REQUEST);
+        verify(notificationService.getPublisher(), times(1)).send(eq("publishStopped-out-0"), isA(Message.class));
+        verify(notificationService.getPublisher(), never()).send(eq("publishCancelFailed-out-0"), isA(Message.class));
+        assertThat(cancellationRegistry.getRunOwner(RESULT_UUID)).isEmpty();
+    }
+
+    @Test
+    void testCancelReceivedByAnotherWorkerBeforeRunPreventsIt() {
+        InMemoryCancellationRegistry cancellationRegistry = new InMemoryCancellationRegistry(100, Duration.ofHours(1));
+        MockComputationWorkerService otherWorkerService = newWorkerService(new SimpleMeterRegistry());
+        workerService.setCancellationRegistry(cancellationRegistry);
+        otherWorkerService.setCancellationRegistry(cancellationRegistry);
+        otherWorkerService.consumeCancel().accept(message);
+
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        workerService.consumeRun().accept(message);
+
+        verify(notificationService.getPublisher(), never()).send(eq("publishResult-out-0"), isA(Message.class));
+        assertThat(cancellationRegistry.getCancelRequest(RESULT_UUID)).isEmpty();
+    }
+
+    @Test
+    void testSupersededRunIsSkipped() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        workerService = newWorkerService(meterRegistry);
+        InMemoryCancellationRegistry cancellationRegistry = new InMemoryCancellationRegistry(100, Duration.ofHours(1));
+        workerService.setCancellationRegistry(cancellationRegistry);
+        notificationService.setCancellationRegistry(cancellationRegistry);
+        Message<String> supersededMessage = MessageBuilder.fromMessage(message)
+                .setHeader(HEADER_SUPERSEDE_KEY, receiver + COMPUTATION_TYPE)
+                .build();
+        notificationService.sendRunMessage(supersededMessage);
+        // a newer run is requested for the same receiver before the first one is taken
+        notificationService.sendRunMessage(MessageBuilder.fromMessage(supersededMessage)
+                .setHeader(HEADER_RESULT_UUID, UUID.randomUUID().toString())
+                .build());
+
+        workerService.consumeRun().accept(supersededMessage);
+
+        verify(networkStoreService, never()).getNetwork(any(UUID.class), any(PreloadingStrategy.class));
+        verify(notificationService.getPublisher()).send(eq("publishStopped-out-0"), isA(Message.class));
+        verify(notificationService.getPublisher(), never()).send(eq("publishResult-out-0"), isA(Message.class));
+        assertThat(meterRegistry.get("app.computation.superseded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testSupersededRunIsSkippedAfterTheLatestRunIsOver() {
+        InMemoryCancellationRegistry cancellationRegistry = new InMemoryCancellationRegistry(100, Duration.ofHours(1));
+        workerService.setCancellationRegistry(cancellationRegistry);
+        notificationService.setCancellationRegistry(cancellationRegistry);
+        UUID supersededResultUuid = UUID.randomUUID();
+        Message<String> supersededMessage = MessageBuilder.fromMessage(message)
+                .setHeader(HEADER_SUPERSEDE_KEY, receiver + COMPUTATION_TYPE)
+                .setHeader(HEADER_RESULT_UUID, supersededResultUuid.toString())
+                .build();
+        notificationService.sendRunMessage(supersededMessage);
+        Message<String> latestMessage = MessageBuilder.fromMessage(supersededMessage)
+                .setHeader(HEADER_RESULT_UUID, RESULT_UUID.toString())
+                .build();
+        notificationService.sendRunMessage(latestMessage);
+        var consumer = workerService.consumeRun();
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        consumer.accept(latestMessage);
+        verify(notificationService.getPublisher()).send(eq("publishResult-out-0"), isA(Message.class));
+
+        // a late delivery of the superseded run is still skipped
+        resultContext = new MockComputationResultContext(supersededResultUuid, new MockComputationRunContext(networkUuid, null, receiver,
+                null, userId, provider, new Object()));
+        consumer.accept(supersededMessage);
+
+        verify(notificationService.getPublisher()).send(eq("publishStopped-out-0"), isA(Message.class));
+        assertThat(cancellationRegistry.getLatestRun(receiver + COMPUTATION_TYPE)).contains(RESULT_UUID);
+    }
+
+    @Test
+    void testRedeliveredRunOfSavedResultIsOnlyNotified() {
+        resultService.insertStatus(List.of(RESULT_UUID), MockComputationStatus.COMPLETED);
+
+        workerService.consumeRun().accept(message);
+
+        verify(networkStoreService, never()).getNetwork(any(UUID.class), any(PreloadingStrategy.class));
+        verify(notificationService.getPublisher()).send(eq("publishResult-out-0"), isA(Message.class));
+        assertThat(resultService.findStatus(RESULT_UUID)).isEqualTo(MockComputationStatus.COMPLETED);
+    }
+
+    @Test
+    void testRunLeasedByAnotherWorkerIsRequeuedUntilReleased() {
+        InMemoryCancellationRegistry cancellationRegistry = new InMemoryCancellationRegistry(100, Duration.ofHours(1));
+        workerService.setCancellationRegistry(cancellationRegistry);
+        ReflectionTestUtils.setField(workerService, "runLease", true);
+        assertThat(cancellationRegistry.tryLeaseRun(RESULT_UUID, "otherWorker")).isTrue();
+        var consumer = workerService.consumeRun();
+
+        assertThrows(ImmediateRequeueAmqpException.class, () -> consumer.accept(message));
+        verify(networkStoreService, never()).getNetwork(any(UUID.class), any(PreloadingStrategy.class));
+        verify(notificationService.getPublisher(), never()).send(anyString(), isA(Message.class));
+        assertThat(cancellationRegistry.getRunOwner(RESULT_UUID)).contains("otherWorker");
+
+        // the lease is released, e.g. expired after the other worker died : the redelivered message is run
+        cancellationRegistry.unregisterRun(RESULT_UUID, "otherWorker");
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        consumer.accept(message);
+
+        verify(notificationService.getPublisher(), times(1)).send(eq("publishResult-out-0"), isA(Message.class));
+        assertThat(cancellationRegistry.getRunOwner(RESULT_UUID)).isEmpty();
+    }
+
+    @Test
+    void testRunLeasedByAnotherWorkerIsDeadLettered() {
+        InMemoryCancellationRegistry cancellationRegistry = new InMemoryCancellationRegistry(100, Duration.ofHours(1));
+        workerService.setCancellationRegistry(cancellationRegistry);
+        ReflectionTestUtils.setField(workerService, "runLease", true);
+        ReflectionTestUtils.setField(workerService, "runLeaseDeadLetterRequeue", true);
+        assertThat(cancellationRegistry.tryLeaseRun(RESULT_UUID, "otherWorker")).isTrue();
+        var consumer = workerService.consumeRun();
+
+        assertThrows(AmqpRejectAndDontRequeueException.class, () -> consumer.accept(message));
+        verify(networkStoreService, never()).getNetwork(any(UUID.class), any(PreloadingStrategy.class));
+        assertThat(cancellationRegistry.getRunOwner(RESULT_UUID)).contains("otherWorker");
+    }
+
+    @Test
+    void testDuplicateDeliveryOnTheSameWorkerIsRequeued() {
+        InMemoryCancellationRegistry cancellationRegistry = new InMemoryCancellationRegistry(100, Duration.ofHours(1));
+        workerService.setCancellationRegistry(cancellationRegistry);
+        ReflectionTestUtils.setField(workerService, "runLease", true);
+        String workerId = (String) ReflectionTestUtils.getField(workerService, "workerId");
+        // first delivery in progress on this worker
+        assertThat(cancellationRegistry.tryLeaseRun(RESULT_UUID, workerId)).isTrue();
+        workerService.addFuture(RESULT_UUID, new CompletableFuture<>());
+        var consumer = workerService.consumeRun();
+
+        assertThrows(ImmediateRequeueAmqpException.class, () -> consumer.accept(message));
+
+        // the run of the first delivery is left untouched
+        verify(networkStoreService, never()).getNetwork(any(UUID.class), any(PreloadingStrategy.class));
+        assertThat(cancellationRegistry.getRunOwner(RESULT_UUID)).contains(workerId);
+        assertThat(workerService.hasRunHandle(RESULT_UUID)).isTrue();
+    }
+
     @Test
     void testComputationCancelledBeforeRunReturnsNoResult() {
         workerService.consumeCancel().accept(message);
@@ -393,6 +826,141 @@ class ComputationTest implements WithAssertions {
         verify(notificationService.getPublisher(), times(0)).send(eq("publishResult-out-0"), isA(Message.class));
     }
 
+    @Test
+    void testComputationStoppedAtDeadline() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        workerService = newWorkerService(meterRegistry);
+        ReflectionTestUtils.setField(workerService, "runTimeout", Duration.ofMillis(50));
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.POLLING);
+        resultService.insertStatus(List.of(RESULT_UUID), MockComputationStatus.RUNNING);
+        var consumer = workerService.consumeRun();
+
+        assertThrows(ComputationRunException.class, () -> consumer.accept(message));
+        assertNull(resultService.findStatus(RESULT_UUID));
+        assertThat(runContext.getCancellationToken().getReason()).isEqualTo(CancellationToken.Reason.DEADLINE);
+        assertThat(meterRegistry.get("app.computation.cancellation.stop.latency").tag("reason", "DEADLINE").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRunningComputationsAreListedUntilCleaned() throws InterruptedException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        workerService = newWorkerService(meterRegistry);
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.POLLING);
+        ComputationRunRegistry runRegistry = workerService.getRunRegistry();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ObjectProvider<AbstractWorkerService<?, ?, ?, ?>> workerServices = (ObjectProvider) new StaticListableBeanFactory(Map.of("worker", workerService))
+                .getBeanProvider(AbstractWorkerService.class);
+        RunningComputationsEndpoint endpoint = new RunningComputationsEndpoint(workerServices);
+
+        Thread consumer = Thread.ofPlatform().start(() -> {
+            try {
+                workerService.consumeRun().accept(message);
+            } catch (ComputationRunException e) {
+                // stopped through its cancellation token
+            }
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (runRegistry.getRunningComputationCount(ComputationPhase.RUN) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(endpoint.runningComputations()).singleElement().satisfies(run -> {
+            assertThat(run.resultUuid()).isEqualTo(RESULT_UUID);
+            assertThat(run.computationType()).isEqualTo(COMPUTATION_TYPE);
+            assertThat(run.networkUuid()).isEqualTo(networkUuid);
+            assertThat(run.provider()).isEqualTo(provider);
+            assertThat(run.phase()).isEqualTo(ComputationPhase.RUN);
+            assertThat(run.threadName()).isEqualTo(consumer.getName());
+        });
+        assertThat(endpoint.runningComputation(RESULT_UUID)).isNotNull();
+        assertThat(meterRegistry.get("app.computation.running.count").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.computation.running.phase.count").tag("phase", ComputationPhase.RUN.getTagValue()).gauge().value()).isEqualTo(1);
+
+        runContext.getCancellationToken().cancel();
+        consumer.join();
+        assertThat(endpoint.runningComputations()).isEmpty();
+        assertThat(endpoint.runningComputation(RESULT_UUID)).isNull();
+        assertThat(meterRegistry.get("app.computation.running.oldest.elapsed").gauge().value()).isZero();
+    }
+
+    @Test
+    void testSlowCancelDoesNotBlockOtherResults() throws InterruptedException {
+        UUID otherResultUuid = UUID.fromString("55555555-5555-5555-5555-555555555555");
+        CountDownLatch deleteStarted = new CountDownLatch(1);
+        CountDownLatch releaseDelete = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if (RESULT_UUID.equals(invocation.getArgument(0))) {
+                deleteStarted.countDown();
+                assertTrue(releaseDelete.await(10, TimeUnit.SECONDS));
+            }
+            return invocation.callRealMethod();
+        }).when(resultService).delete(any());
+        CompletableFuture<Object> slowFuture = Mockito.mock(CompletableFuture.class);
+        when(slowFuture.cancel(true)).thenReturn(true);
+        workerService.addFuture(RESULT_UUID, slowFuture);
+        CompletableFuture<Object> otherFuture = Mockito.mock(CompletableFuture.class);
+        when(otherFuture.cancel(true)).thenReturn(true);
+        workerService.addFuture(otherResultUuid, otherFuture);
+        Message<String> otherMessage = MessageBuilder.fromMessage(message)
+                .setHeader(HEADER_RESULT_UUID, otherResultUuid.toString())
+                .build();
+
+        // the cancel of the first result is stuck deleting its results
+        CompletableFuture<Void> slowCancel = CompletableFuture.runAsync(() -> workerService.consumeCancel().accept(message));
+        assertTrue(deleteStarted.await(10, TimeUnit.SECONDS));
+
+        // other results are still cancelled meanwhile
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> workerService.consumeCancel().accept(otherMessage));
+        verify(otherFuture).cancel(true);
+        verify(notificationService.getPublisher(), times(1)).send(eq("publishStopped-out-0"), isA(Message.class));
+
+        releaseDelete.countDown();
+        slowCancel.join();
+        verify(notificationService.getPublisher(), times(2)).send(eq("publishStopped-out-0"), isA(Message.class));
+        verify(notificationService.getPublisher(), never()).send(eq("publishCancelFailed-out-0"), isA(Message.class));
+    }
+
+    @Test
+    void testComputationRejectedWhenSaturated() {
+        doThrow(new RejectedExecutionException("saturated")).when(executionService).checkAdmission();
+        when(executionService.getSaturationPolicy()).thenReturn(ExecutionService.SaturationPolicy.REJECT);
+        resultService.insertStatus(List.of(RESULT_UUID), MockComputationStatus.RUNNING);
+        var consumer = workerService.consumeRun();
+
+        assertThrows(ComputationRunException.class, () -> consumer.accept(message));
+        assertNull(resultService.findStatus(RESULT_UUID));
+        verifyNoInteractions(networkStoreService);
+    }
+
+    @Test
+    void testComputationRequeuedWhenSaturated() {
+        doThrow(new RejectedExecutionException("saturated")).when(executionService).checkAdmission();
+        when(executionService.getSaturationPolicy()).thenReturn(ExecutionService.SaturationPolicy.REQUEUE);
+        resultService.insertStatus(List.of(RESULT_UUID), MockComputationStatus.RUNNING);
+        var consumer = workerService.consumeRun();
+
+        assertThrows(ImmediateRequeueAmqpException.class, () -> consumer.accept(message));
+        assertEquals(MockComputationStatus.RUNNING, resultService.findStatus(RESULT_UUID));
+        verifyNoInteractions(networkStoreService, publisher);
+    }
+
+    @Test
+    void testCancelRequestIsKeptWhenRunIsRequeued() {
+        when(executionService.getSaturationPolicy()).thenReturn(ExecutionService.SaturationPolicy.REQUEUE);
+        workerService.consumeCancel().accept(message);
+        doThrow(new RejectedExecutionException("saturated")).doNothing().when(executionService).checkAdmission();
+        var consumer = workerService.consumeRun();
+        assertThrows(ImmediateRequeueAmqpException.class, () -> consumer.accept(message));
+
+        // the redelivered run message is not computed
+        initComputationExecution();
+        runContext.setComputationResWanted(ComputationResultWanted.SUCCESS);
+        consumer.accept(message);
+        verify(notificationService.getPublisher(), never()).send(eq("publishResult-out-0"), isA(Message.class));
+    }
+
     @Test
     void testProcessDebugWithS3Service() throws IOException {
         // Setup
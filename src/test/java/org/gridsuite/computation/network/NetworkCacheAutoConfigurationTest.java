@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.network;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gridsuite.computation.network.NetworkCacheAutoConfiguration.INVALIDATION_FUNCTION_NAME;
+
+class NetworkCacheAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(NetworkCacheAutoConfiguration.class));
+
+    @Test
+    void networkCacheIsCreatedWithItsInvalidationBound() {
+        contextRunner
+                .withPropertyValues(
+                        "computation.network-cache.enabled=true",
+                        "spring.cloud.function.definition=consumeRun;" + INVALIDATION_FUNCTION_NAME,
+                        "spring.cloud.stream.bindings." + INVALIDATION_FUNCTION_NAME + "-in-0.destination=network.modifications"
+                )
+                .run(context -> {
+                    assertThat(context).hasSingleBean(NetworkCache.class);
+                    assertThat(context).hasBean(INVALIDATION_FUNCTION_NAME);
+                });
+    }
+
+    @Test
+    void networkCacheIsRefusedWithoutItsInvalidation() {
+        contextRunner
+                .withPropertyValues(
+                        "computation.network-cache.enabled=true",
+                        "spring.cloud.function.definition=consumeRun"
+                )
+                .run(context -> assertThat(context).hasFailed()
+                        .getFailure().hasRootCauseInstanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    void networkCacheIsNotCreatedWhenDisabled() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(NetworkCache.class));
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.network;
+
+import com.powsybl.iidm.network.Network;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class NetworkCacheTest {
+    private static final UUID NETWORK_UUID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID NETWORK_UUID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private NetworkCache createCache(long maxWeight) {
+        return new NetworkCache(maxWeight, 10, Duration.ofMinutes(10), clock::get);
+    }
+
+    private static Network network() {
+        return mock(Network.class);
+    }
+
+    @Test
+    void releasedNetworkIsReusedByNextRun() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> network)).isSameAs(network);
+        cache.release(NETWORK_UUID_1, network);
+
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> network())).isSameAs(network);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lentNetworkIsNotSharedWithConcurrentRun() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+        Network otherInstance = network();
+        cache.borrow(NETWORK_UUID_1, () -> network);
+        cache.release(NETWORK_UUID_1, network);
+
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> otherInstance)).isSameAs(network);
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> otherInstance)).isSameAs(otherInstance);
+    }
+
+    @Test
+    void expiredNetworkIsReloaded() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+        Network reloaded = network();
+        cache.borrow(NETWORK_UUID_1, () -> network);
+        cache.release(NETWORK_UUID_1, network);
+
+        clock.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> reloaded)).isSameAs(reloaded);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedNetworkIsEvictedWhenWeightExceeded() {
+        NetworkCache cache = createCache(100);
+        Network network1 = network();
+        Network network2 = network();
+        cache.borrow(NETWORK_UUID_1, () -> network1);
+        cache.borrow(NETWORK_UUID_2, () -> network2);
+        cache.addWeight(network1, 60);
+        cache.addWeight(network2, 60);
+        cache.release(NETWORK_UUID_1, network1);
+        cache.release(NETWORK_UUID_2, network2);
+
+        assertThat(cache.getCachedNetworkUuids()).containsExactly(NETWORK_UUID_2);
+        assertThat(cache.getTotalWeight()).isEqualTo(60);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void networkIsWeighedByItsBorrowerWithoutLoadingIt() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+        Network notWeighed = network();
+        Network tooLarge = network();
+        cache.borrow(NETWORK_UUID_1, () -> network);
+        cache.borrow(NETWORK_UUID_2, () -> notWeighed);
+        cache.addWeight(network, 30);
+        cache.release(NETWORK_UUID_1, network);
+        cache.release(NETWORK_UUID_2, notWeighed);
+
+        assertThat(cache.getTotalWeight()).isEqualTo(40);
+        verifyNoInteractions(network, notWeighed);
+
+        // the weight is kept while the network is lent again, a network heavier than the limit is not kept
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> Assertions.fail("network is cached"))).isSameAs(network);
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> tooLarge)).isSameAs(tooLarge);
+        cache.addWeight(tooLarge, 101);
+        cache.release(NETWORK_UUID_1, tooLarge);
+        cache.release(NETWORK_UUID_1, network);
+        assertThat(cache.getCachedNetworkUuids()).containsExactlyInAnyOrder(NETWORK_UUID_1, NETWORK_UUID_2);
+        assertThat(cache.getTotalWeight()).isEqualTo(40);
+    }
+
+    @Test
+    void weightAddsTheEquipmentsFetchedByEachBorrower() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+        cache.borrow(NETWORK_UUID_1, () -> network);
+        cache.addWeight(network, 30);
+        cache.release(NETWORK_UUID_1, network);
+
+        cache.borrow(NETWORK_UUID_1, () -> network());
+        cache.addWeight(network, 20);
+        cache.release(NETWORK_UUID_1, network);
+
+        assertThat(cache.getTotalWeight()).isEqualTo(50);
+    }
+
+    @Test
+    void timeToLiveStartsWhenTheNetworkIsLoaded() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+        Network reloaded = network();
+        cache.borrow(NETWORK_UUID_1, () -> network);
+        // a long run, then a short one
+        clock.addAndGet(Duration.ofMinutes(8).toNanos());
+        cache.release(NETWORK_UUID_1, network);
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> reloaded)).isSameAs(network);
+        cache.release(NETWORK_UUID_1, network);
+        clock.addAndGet(Duration.ofMinutes(3).toNanos());
+
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> reloaded)).isSameAs(reloaded);
+    }
+
+    @Test
+    void unusableNetworkIsEvictedAndReloaded() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+        Network reloaded = network();
+        cache.borrow(NETWORK_UUID_1, () -> network);
+        cache.release(NETWORK_UUID_1, network);
+
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> reloaded, cachedNetwork -> false)).isSameAs(reloaded);
+        assertThat(cache.getHitCount()).isZero();
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+
+        // the outdated instance is not lent anymore
+        cache.release(NETWORK_UUID_1, network);
+        cache.release(NETWORK_UUID_1, reloaded);
+        assertThat(cache.borrow(NETWORK_UUID_1, () -> network)).isSameAs(reloaded);
+    }
+
+    @Test
+    void invalidatedNetworkIsNotPutBack() {
+        NetworkCache cache = createCache(100);
+        Network network = network();
+        cache.borrow(NETWORK_UUID_1, () -> network);
+
+        cache.consumeInvalidation().accept(MessageBuilder.withPayload("").setHeader("networkUuid", NETWORK_UUID_1.toString()).build());
+        cache.release(NETWORK_UUID_1, network);
+
+        assertThat(cache.getCachedNetworkUuids()).isEmpty();
+        assertThat(cache.getTotalWeight()).isZero();
+    }
+
+    @Test
+    void unknownNetworkIsIgnoredOnRelease() {
+        NetworkCache cache = createCache(100);
+        cache.release(NETWORK_UUID_1, network());
+        assertThat(cache.getCachedNetworkUuids()).isEmpty();
+    }
+}
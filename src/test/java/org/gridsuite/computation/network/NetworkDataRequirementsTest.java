@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.network;
+
+import com.powsybl.iidm.network.Generator;
+import com.powsybl.iidm.network.IdentifiableType;
+import com.powsybl.iidm.network.Network;
+import com.powsybl.network.store.client.PreloadingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class NetworkDataRequirementsTest {
+
+    @Test
+    void undeclaredRequirementsKeepDefaultStrategy() {
+        assertThat(NetworkDataRequirements.ALL.isAll()).isTrue();
+        assertThat(NetworkDataRequirements.ALL.getPreloadingStrategy(PreloadingStrategy.COLLECTION)).isEqualTo(PreloadingStrategy.COLLECTION);
+        assertThat(NetworkDataRequirements.ALL.withBusView()).isSameAs(NetworkDataRequirements.ALL);
+
+        Network network = mock(Network.class);
+        assertThat(NetworkDataRequirements.ALL.preload(network)).isEmpty();
+        verifyNoInteractions(network);
+    }
+
+    @Test
+    void declaredCollectionsAreTheOnlyOnesPreloaded() {
+        NetworkDataRequirements requirements = NetworkDataRequirements.of(IdentifiableType.GENERATOR, IdentifiableType.LINE);
+        assertThat(requirements.getPreloadingStrategy(PreloadingStrategy.COLLECTION)).isEqualTo(PreloadingStrategy.NONE);
+        assertThat(requirements.withBusView().getPreloadingStrategy(PreloadingStrategy.COLLECTION)).isEqualTo(PreloadingStrategy.ALL_COLLECTIONS_NEEDED_FOR_BUS_VIEW);
+
+        Network network = mock(Network.class);
+        when(network.getGeneratorStream()).thenReturn(Stream.of(mock(Generator.class), mock(Generator.class)));
+
+        Map<IdentifiableType, Long> counts = requirements.preload(network);
+
+        assertThat(counts).containsOnly(Map.entry(IdentifiableType.GENERATOR, 2L), Map.entry(IdentifiableType.LINE, 0L));
+        verify(network).getGeneratorStream();
+        verify(network).getLineStream();
+        verifyNoMoreInteractions(network);
+    }
+
+    @Test
+    void unsupportedCollectionIsRejected() {
+        assertThatThrownBy(() -> NetworkDataRequirements.of(IdentifiableType.BUS)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
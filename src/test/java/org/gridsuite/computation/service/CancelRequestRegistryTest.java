@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CancelRequestRegistryTest {
+    private static final UUID RESULT_UUID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID RESULT_UUID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final UUID RESULT_UUID_3 = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CancelRequestRegistry registry = new CancelRequestRegistry(2, Duration.ofMinutes(10), clock::get);
+
+    private static CancelContext cancelContext(UUID resultUuid) {
+        return new CancelContext(resultUuid, "receiver");
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    void requestIsKeptUntilRemovedOrExpired() {
+        registry.put(RESULT_UUID_1, cancelContext(RESULT_UUID_1));
+        advance(Duration.ofMinutes(9));
+        assertThat(registry.get(RESULT_UUID_1)).isEqualTo(cancelContext(RESULT_UUID_1));
+
+        advance(Duration.ofMinutes(1));
+        assertThat(registry.get(RESULT_UUID_1)).isNull();
+        assertThat(registry.size()).isZero();
+        assertThat(registry.getExpiredCount()).isEqualTo(1);
+
+        registry.put(RESULT_UUID_2, cancelContext(RESULT_UUID_2));
+        assertThat(registry.remove(RESULT_UUID_2)).isEqualTo(cancelContext(RESULT_UUID_2));
+        assertThat(registry.get(RESULT_UUID_2)).isNull();
+        assertThat(registry.getExpiredCount()).isEqualTo(1);
+    }
+
+    @Test
+    void oldestRequestIsEvictedBeyondMaxSize() {
+        registry.put(RESULT_UUID_1, cancelContext(RESULT_UUID_1));
+        advance(Duration.ofMinutes(1));
+        registry.put(RESULT_UUID_2, cancelContext(RESULT_UUID_2));
+        advance(Duration.ofMinutes(1));
+        // renewed request becomes the youngest
+        registry.put(RESULT_UUID_1, cancelContext(RESULT_UUID_1));
+        registry.put(RESULT_UUID_3, cancelContext(RESULT_UUID_3));
+
+        assertThat(registry.get(RESULT_UUID_2)).isNull();
+        assertThat(registry.get(RESULT_UUID_1)).isNotNull();
+        assertThat(registry.get(RESULT_UUID_3)).isNotNull();
+        assertThat(registry.getEvictedCount()).isEqualTo(1);
+
+        // renewed request expires after its last reception
+        advance(Duration.ofMinutes(9));
+        assertThat(registry.get(RESULT_UUID_1)).isNotNull();
+    }
+
+    @Test
+    void reconfiguredLimitsApplyToTheKeptRequests() {
+        registry.put(RESULT_UUID_1, cancelContext(RESULT_UUID_1));
+        registry.put(RESULT_UUID_2, cancelContext(RESULT_UUID_2));
+
+        registry.configure(1, Duration.ofMinutes(20));
+        assertThat(registry.get(RESULT_UUID_1)).isNull();
+        assertThat(registry.getEvictedCount()).isEqualTo(1);
+
+        registry.put(RESULT_UUID_3, cancelContext(RESULT_UUID_3));
+        advance(Duration.ofMinutes(15));
+        assertThat(registry.get(RESULT_UUID_3)).isEqualTo(cancelContext(RESULT_UUID_3));
+    }
+
+    @Test
+    void shortenedTimeToLiveExpiresTheRequestsInOrder() {
+        registry.put(RESULT_UUID_1, cancelContext(RESULT_UUID_1));
+        registry.configure(10, Duration.ofMinutes(1));
+        registry.put(RESULT_UUID_2, cancelContext(RESULT_UUID_2));
+
+        advance(Duration.ofMinutes(2));
+        // the newer request expires, after the older one requested with a longer time to live
+        assertThat(registry.get(RESULT_UUID_2)).isNull();
+        assertThat(registry.get(RESULT_UUID_1)).isNull();
+        assertThat(registry.size()).isZero();
+        assertThat(registry.getExpiredCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CancellationTokenTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final List<String> stops = new ArrayList<>();
+    private final CancellationToken token = new CancellationToken(clock::get);
+
+    {
+        token.setStopListener((reason, latency) -> stops.add(reason + " " + latency.toMillis()));
+    }
+
+    @Test
+    void cancelRequestIsObservedOnceWithItsLatency() {
+        assertThat(token.isCancellationRequested()).isFalse();
+        assertThatCode(token::throwIfCancellationRequested).doesNotThrowAnyException();
+
+        clock.set(Duration.ofMillis(100).toNanos());
+        assertThat(token.cancel()).isTrue();
+        assertThat(token.cancel()).isFalse();
+        assertThat(token.getReason()).isEqualTo(CancellationToken.Reason.CANCEL_REQUEST);
+
+        clock.set(Duration.ofMillis(350).toNanos());
+        assertThatThrownBy(token::throwIfCancellationRequested).isInstanceOf(CancellationException.class);
+        assertThat(token.isCancellationRequested()).isTrue();
+        assertThat(stops).containsExactly("CANCEL_REQUEST 250");
+    }
+
+    @Test
+    void deadlineFiresTheToken() {
+        token.setDeadline(Duration.ofSeconds(1));
+
+        clock.set(Duration.ofMillis(999).toNanos());
+        assertThat(token.isCancellationRequested()).isFalse();
+        assertThat(token.getReason()).isNull();
+
+        clock.set(Duration.ofMillis(1200).toNanos());
+        assertThatThrownBy(token::throwIfCancellationRequested)
+                .isInstanceOf(CancellationException.class)
+                .hasMessageContaining("deadline");
+        assertThat(token.getReason()).isEqualTo(CancellationToken.Reason.DEADLINE);
+        // a cancel request after the deadline does not change the reason
+        assertThat(token.cancel()).isFalse();
+        assertThat(stops).containsExactly("DEADLINE 200");
+    }
+}
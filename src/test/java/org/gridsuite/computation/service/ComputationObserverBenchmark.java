@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-run observation overhead : meters registered on every run, as the observer did before caching them per
+ * provider, against the cached meters. Run with the main method, add "-prof gc" to the options to compare the
+ * allocations per run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ComputationObserverBenchmark {
+    private static final String COMPUTATION_TYPE = "benchmark";
+    private static final String PROVIDER = "provider";
+
+    private static final class BenchmarkObserver extends AbstractComputationObserver<Object, Object> {
+        private BenchmarkObserver(ObservationRegistry observationRegistry, MeterRegistry meterRegistry) {
+            super(observationRegistry, meterRegistry);
+        }
+
+        @Override
+        protected String getComputationType() {
+            return COMPUTATION_TYPE;
+        }
+
+        @Override
+        protected String getResultStatus(Object res) {
+            return res != null ? "OK" : "NOK";
+        }
+    }
+
+    private static final class BenchmarkRunContext extends AbstractComputationRunContext<Object> {
+        private BenchmarkRunContext() {
+            super(UUID.randomUUID(), null, null, null, null, PROVIDER, null);
+        }
+    }
+
+    private MeterRegistry meterRegistry;
+    private BenchmarkObserver observer;
+    private BenchmarkRunContext runContext;
+    private final Map<String, Integer> currentComputationsCount = new ConcurrentHashMap<>();
+
+    @Setup
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        observer = new BenchmarkObserver(ObservationRegistry.NOOP, meterRegistry);
+        runContext = new BenchmarkRunContext();
+    }
+
+    @Benchmark
+    public Object observeRunRegisteringMeters() {
+        // observation of a run before the meters were cached
+        currentComputationsCount.compute(PROVIDER, (k, v) -> v == null ? 1 : v + 1);
+        registerCurrentCountGauge();
+        Object result = "result";
+        currentComputationsCount.compute(PROVIDER, (k, v) -> v > 1 ? v - 1 : 0);
+        registerCurrentCountGauge();
+        Counter.builder(AbstractComputationObserver.COMPUTATION_TOTAL_COUNTER_NAME)
+                .tag(AbstractComputationObserver.PROVIDER_TAG_NAME, PROVIDER)
+                .tag(AbstractComputationObserver.TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .tag(AbstractComputationObserver.STATUS_TAG_NAME, "OK")
+                .register(meterRegistry)
+                .increment();
+        return result;
+    }
+
+    private void registerCurrentCountGauge() {
+        Gauge.builder(AbstractComputationObserver.COMPUTATION_CURRENT_COUNTER_NAME, () -> currentComputationsCount.get(PROVIDER))
+                .tag(AbstractComputationObserver.TYPE_TAG_NAME, COMPUTATION_TYPE)
+                .tag(AbstractComputationObserver.PROVIDER_TAG_NAME, PROVIDER)
+                .register(meterRegistry);
+    }
+
+    @Benchmark
+    public Object observeRunWithCachedMeters() {
+        return observer.observeRun("run", runContext, () -> "result");
+    }
+
+    @Benchmark
+    public void observeCancellationStop() {
+        observer.observeCancellationStop(runContext, CancellationToken.Reason.CANCEL_REQUEST, Duration.ofMillis(1));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ComputationObserverBenchmark.class.getSimpleName()).build()).run();
+    }
+}
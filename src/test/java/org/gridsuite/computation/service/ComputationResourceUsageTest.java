@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComputationResourceUsageTest {
+
+    private static final int ALLOCATED_ARRAY_SIZE = 1 << 20;
+
+    private final ExecutorService executor = new ResourceAccountingExecutorService(Executors.newSingleThreadExecutor());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void tasksSubmittedWhileMeasuringAreAccounted() throws Exception {
+        ComputationResourceUsage usage = new ComputationResourceUsage();
+
+        usage.measure(() -> {
+            Future<byte[]> allocation = executor.submit(() -> new byte[ALLOCATED_ARRAY_SIZE]);
+            assertThat(allocation.get()).hasSize(ALLOCATED_ARRAY_SIZE);
+        });
+        // the executor thread adds its usage once the task is over
+        executor.submit(() -> { }).get();
+
+        assertThat(usage.getSnapshot().allocatedBytes()).isGreaterThanOrEqualTo(ALLOCATED_ARRAY_SIZE);
+        assertThat(usage.getSnapshot().cpuTimeNanos()).isPositive();
+    }
+
+    @Test
+    void tasksSubmittedOutsideOfAMeasureAreNotAccounted() throws Exception {
+        ComputationResourceUsage usage = new ComputationResourceUsage();
+        usage.measure(() -> { });
+        long allocatedBytes = usage.getSnapshot().allocatedBytes();
+
+        executor.submit(() -> new byte[ALLOCATED_ARRAY_SIZE]).get();
+
+        assertThat(usage.getSnapshot().allocatedBytes()).isEqualTo(allocatedBytes);
+    }
+
+    @Test
+    void snapshotIncludesMeasuresInProgressAndNestedMeasuresAreCountedOnce() {
+        ComputationResourceUsage usage = new ComputationResourceUsage();
+        AtomicReference<ComputationResourceUsage.Snapshot> inProgress = new AtomicReference<>();
+
+        usage.measure(() -> usage.measure(() -> {
+            byte[] allocated = new byte[ALLOCATED_ARRAY_SIZE];
+            inProgress.set(usage.getSnapshot());
+            assertThat(allocated).hasSize(ALLOCATED_ARRAY_SIZE);
+        }));
+
+        assertThat(inProgress.get().allocatedBytes()).isGreaterThanOrEqualTo(ALLOCATED_ARRAY_SIZE);
+        assertThat(usage.getSnapshot().allocatedBytes()).isBetween((long) ALLOCATED_ARRAY_SIZE, 2L * ALLOCATED_ARRAY_SIZE);
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ComputationRunHandleTest {
+
+    @Test
+    void cancelPendingRunPreventsItsStart() {
+        ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>();
+
+        assertThat(runHandle.cancel()).isTrue();
+        assertThat(runHandle.cancel()).isFalse();
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        assertThat(runHandle.start(future)).isFalse();
+        assertThat(future).isNotCancelled();
+        assertThat(runHandle.getState()).isEqualTo(ComputationRunHandle.State.CANCELLED);
+    }
+
+    @Test
+    void cancelRunningComputationInterruptsItsFuture() {
+        ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        assertThat(runHandle.start(future)).isTrue();
+
+        assertThat(runHandle.cancel()).isTrue();
+        assertThat(future).isCancelled();
+        assertThat(runHandle.isCancelled()).isTrue();
+        runHandle.finish();
+        assertThat(runHandle.getState()).isEqualTo(ComputationRunHandle.State.CANCELLED);
+    }
+
+    @Test
+    void cancelFiresTheCancellationToken() {
+        CancellationToken cancellationToken = new CancellationToken();
+        ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>(cancellationToken);
+        runHandle.start(new CompletableFuture<>());
+        assertThat(cancellationToken.isCancellationRequested()).isFalse();
+
+        assertThat(runHandle.cancel()).isTrue();
+        assertThat(cancellationToken.isCancellationRequested()).isTrue();
+        assertThat(cancellationToken.getReason()).isEqualTo(CancellationToken.Reason.CANCEL_REQUEST);
+    }
+
+    @Test
+    void cancelFailsOnceComputationIsCompletedOrRunIsOver() {
+        ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>();
+        runHandle.start(CompletableFuture.completedFuture(new Object()));
+        assertThat(runHandle.cancel()).isFalse();
+        assertThat(runHandle.getState()).isEqualTo(ComputationRunHandle.State.RUNNING);
+
+        runHandle.finish();
+        assertThat(runHandle.getState()).isEqualTo(ComputationRunHandle.State.DONE);
+        assertThat(runHandle.start(new CompletableFuture<>())).isFalse();
+        assertThat(runHandle.cancel()).isFalse();
+    }
+
+    @Test
+    void onlyOneOfConcurrentCancelRequestsWins() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>();
+                CompletableFuture<Object> future = new CompletableFuture<>();
+                boolean started = round % 2 == 0 && runHandle.start(future);
+                CountDownLatch go = new CountDownLatch(1);
+                List<Future<Boolean>> cancels = new ArrayList<>();
+                for (int i = 0; i < threads; i++) {
+                    cancels.add(executor.submit(() -> {
+                        go.await();
+                        return runHandle.cancel();
+                    }));
+                }
+                go.countDown();
+                int winners = 0;
+                for (Future<Boolean> cancel : cancels) {
+                    winners += Boolean.TRUE.equals(cancel.get()) ? 1 : 0;
+                }
+                assertThat(winners).isEqualTo(1);
+                assertThat(runHandle.isCancelled()).isTrue();
+                assertThat(future.isCancelled()).isEqualTo(started);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.AbstractStreamingClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming requests discarding their body, only its size and the size of its largest write are counted. A body
+ * written through {@link ClientHttpRequest#getBody()} instead of streamed is buffered, then counted as one write.
+ */
+class CountingClientHttpRequestFactory implements ClientHttpRequestFactory {
+    private final AtomicLong byteCount = new AtomicLong();
+    private final AtomicLong maxWriteSize = new AtomicLong();
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new AbstractStreamingClientHttpRequest() {
+            @Override
+            public HttpMethod getMethod() {
+                return httpMethod;
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+
+            @Override
+            protected ClientHttpResponse executeInternal(HttpHeaders headers, Body body) throws IOException {
+                if (body != null) {
+                    body.writeTo(new CountingOutputStream());
+                }
+                return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+            }
+        };
+    }
+
+    long getByteCount() {
+        return byteCount.get();
+    }
+
+    long getMaxWriteSize() {
+        return maxWriteSize.get();
+    }
+
+    private final class CountingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            byteCount.addAndGet(len);
+            maxWriteSize.accumulateAndGet(len, Math::max);
+        }
+    }
+}
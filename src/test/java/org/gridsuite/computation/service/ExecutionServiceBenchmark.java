@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Blocking tasks of the runs, e.g. the calls to the network store, the report server or S3, on the cached pool of
+ * platform threads against one virtual thread per task. Each operation submits a burst of tasks blocked for a few
+ * milliseconds and waits for them. The peakPlatformThreads counter is the peak count of platform threads of the JVM
+ * during the iteration : the stacks of these threads make most of the RSS difference between the modes, compare it
+ * with the RSS of the forked JVM. Run with the main method.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionServiceBenchmark {
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    @Param({"CACHED", "VIRTUAL_THREADS"})
+    private ExecutionService.ExecutionMode mode;
+
+    @Param({"1000"})
+    private int burstSize;
+
+    @Param({"5"})
+    private int blockingMillis;
+
+    private ExecutionService executionService;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ThreadCounters {
+        public long peakPlatformThreads;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            THREAD_MX_BEAN.resetPeakThreadCount();
+            peakPlatformThreads = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        executionService = new ExecutionService();
+        ReflectionTestUtils.setField(executionService, "mode", mode);
+        ReflectionTestUtils.invokeMethod(executionService, "postConstruct");
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(executionService, "preDestroy");
+    }
+
+    @Benchmark
+    public void blockingTasksBurst(ThreadCounters counters) throws InterruptedException, ExecutionException {
+        ExecutorService ioExecutorService = executionService.getIoExecutorService();
+        List<Future<?>> futures = new ArrayList<>(burstSize);
+        for (int i = 0; i < burstSize; i++) {
+            futures.add(ioExecutorService.submit(() -> {
+                Thread.sleep(blockingMillis);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        // virtual threads are not counted by the thread MXBean
+        counters.peakPlatformThreads = Math.max(counters.peakPlatformThreads, THREAD_MX_BEAN.getPeakThreadCount());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ExecutionServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -9,12 +9,18 @@ package org.gridsuite.computation.service;
 import io.micrometer.context.ContextExecutorService;
 import io.micrometer.context.ContextRegistry;
 import io.micrometer.context.ThreadLocalAccessor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,8 +38,7 @@ class ExecutionServiceTest {
         threadLocal.remove();
     }
 
-    @Test
-    void postConstructWrapsExecutorAndPropagatesContext() throws Exception {
+    private void registerThreadLocalAccessor() {
         ContextRegistry.getInstance().registerThreadLocalAccessor(new ThreadLocalAccessor<String>() {
             @Override
             public String key() {
@@ -55,11 +60,20 @@ class ExecutionServiceTest {
                 threadLocal.remove();
             }
         });
+    }
 
-        ExecutionService service = new ExecutionService();
+    private static void postConstruct(ExecutionService service) throws Exception {
         Method postConstruct = ExecutionService.class.getDeclaredMethod("postConstruct");
         postConstruct.setAccessible(true);
         postConstruct.invoke(service);
+    }
+
+    @Test
+    void postConstructWrapsExecutorAndPropagatesContext() throws Exception {
+        registerThreadLocalAccessor();
+
+        ExecutionService service = new ExecutionService();
+        postConstruct(service);
 
         Field executorField = ExecutionService.class.getDeclaredField("executorService");
         executorField.setAccessible(true);
@@ -72,4 +86,106 @@ class ExecutionServiceTest {
         assertNotNull(service.getComputationManager());
 
     }
+
+    @Test
+    void virtualThreadsModeRunsTasksOnVirtualThreadsAndPropagatesContext() throws Exception {
+        registerThreadLocalAccessor();
+
+        ExecutionService service = new ExecutionService();
+        setField(service, "mode", ExecutionService.ExecutionMode.VIRTUAL_THREADS);
+        postConstruct(service);
+
+        ExecutorService executorService = service.getExecutorService();
+        assertInstanceOf(ContextExecutorService.class, executorService, "executor should be wrapped in ContextExecutorService");
+
+        threadLocal.set("expected-context");
+        assertEquals("expected-context", executorService.submit(threadLocal::get).get());
+        assertTrue(executorService.submit(() -> Thread.currentThread().isVirtual()).get());
+        assertNotNull(service.getComputationManager());
+        executorService.shutdown();
+    }
+
+    @Test
+    void boundedModeRejectsWorkWhenSaturatedAndExposesGauges() throws Exception {
+        ExecutionService service = new ExecutionService();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        setField(service, "mode", ExecutionService.ExecutionMode.BOUNDED);
+        setField(service, "cpuPoolSize", 1);
+        setField(service, "queueCapacity", 1);
+        setField(service, "meterRegistry", meterRegistry);
+        postConstruct(service);
+
+        ExecutorService executorService = service.getExecutorService();
+        assertNotSame(executorService, service.getIoExecutorService());
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> running = executorService.submit(() -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        started.await();
+        Future<?> queued = executorService.submit(() -> null);
+
+        assertThrows(RejectedExecutionException.class, () -> executorService.submit(() -> null));
+        assertThrows(RejectedExecutionException.class, service::checkAdmission);
+        assertEquals(1, meterRegistry.get("app.computation.executor.active").tag("name", ExecutionService.CPU_POOL_NAME).gauge().value());
+        assertEquals(1, meterRegistry.get("app.computation.executor.queued").tag("name", ExecutionService.CPU_POOL_NAME).gauge().value());
+        assertEquals(1, meterRegistry.get("app.computation.executor.rejected").tag("name", ExecutionService.CPU_POOL_NAME).counter().count());
+        // subtasks of the providers still run while the CPU pool is saturated
+        assertEquals("subtask", CompletableFuture.supplyAsync(() -> "subtask", service.getComputationManager().getExecutor()).get(5, TimeUnit.SECONDS));
+
+        release.countDown();
+        running.get();
+        queued.get();
+        assertDoesNotThrow(service::checkAdmission);
+        executorService.shutdown();
+        service.getIoExecutorService().shutdown();
+    }
+
+    @Test
+    void resultSavesAreBoundedByTheInFlightLimit() throws Exception {
+        ExecutionService service = new ExecutionService();
+        assertFalse(service.submitResultSave(() -> { }), "result saves are inline by default");
+
+        setField(service, "asyncResultSave", true);
+        setField(service, "resultSavePoolSize", 1);
+        setField(service, "maxInFlightResultSaves", 1);
+        postConstruct(service);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstSaveStarted = new CountDownLatch(1);
+        assertTrue(service.submitResultSave(() -> {
+            firstSaveStarted.countDown();
+            awaitUninterruptibly(release);
+        }));
+        firstSaveStarted.await();
+
+        // the second save waits for the first one to free its slot
+        CountDownLatch secondSaveDone = new CountDownLatch(1);
+        Thread submitter = Thread.ofPlatform().start(() -> service.submitResultSave(secondSaveDone::countDown));
+        submitter.join(200);
+        assertTrue(submitter.isAlive(), "submission should wait for an in-flight slot");
+
+        release.countDown();
+        submitter.join();
+        assertTrue(secondSaveDone.await(5, TimeUnit.SECONDS));
+        service.getResultSaveExecutorService().shutdown();
+        service.getExecutorService().shutdown();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void setField(ExecutionService service, String name, Object value) throws Exception {
+        Field field = ExecutionService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(service, value);
+    }
 }
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcCancellationRegistryTest {
+    private static final UUID RESULT_UUID = UUID.fromString("55555555-5555-5555-5555-555555555555");
+    private static final UUID OTHER_RESULT_UUID = UUID.fromString("66666666-6666-6666-6666-666666666666");
+    private static final String WORKER_ID = "worker";
+    private static final String OTHER_WORKER_ID = "otherWorker";
+    // polled by the tests only
+    private static final Duration POLL_PERIOD = Duration.ofHours(1);
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcCancellationRegistry registry;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setChangeLog("classpath:db/changelog/computation/cancellation_registry.xml");
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        registry = new JdbcCancellationRegistry(jdbcTemplate, Duration.ofHours(1), POLL_PERIOD, Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.close();
+    }
+
+    private int countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+    @Test
+    void leaseIsHeldUntilTheRunIsUnregistered() {
+        assertThat(registry.tryLeaseRun(RESULT_UUID, WORKER_ID)).isTrue();
+        assertThat(registry.tryLeaseRun(RESULT_UUID, OTHER_WORKER_ID)).isFalse();
+        // another delivery on the same worker
+        assertThat(registry.tryLeaseRun(RESULT_UUID, WORKER_ID)).isFalse();
+        assertThat(registry.getRunOwner(RESULT_UUID)).contains(WORKER_ID);
+
+        assertThat(registry.unregisterRun(RESULT_UUID, OTHER_WORKER_ID)).isFalse();
+        assertThat(registry.unregisterRun(RESULT_UUID, WORKER_ID)).isTrue();
+        assertThat(registry.getRunOwner(RESULT_UUID)).isEmpty();
+        assertThat(registry.tryLeaseRun(RESULT_UUID, OTHER_WORKER_ID)).isTrue();
+        assertThat(registry.getRunOwner(RESULT_UUID)).contains(OTHER_WORKER_ID);
+    }
+
+    @Test
+    void expiredLeaseIsTakenOverAndLiveLeaseIsRenewed() throws InterruptedException {
+        registry.close();
+        registry = new JdbcCancellationRegistry(jdbcTemplate, Duration.ofHours(1), POLL_PERIOD, Duration.ZERO);
+        assertThat(registry.tryLeaseRun(RESULT_UUID, WORKER_ID)).isTrue();
+        Thread.sleep(10);
+        assertThat(registry.tryLeaseRun(RESULT_UUID, OTHER_WORKER_ID)).isTrue();
+
+        registry.close();
+        registry = new JdbcCancellationRegistry(jdbcTemplate, Duration.ofHours(1), POLL_PERIOD, Duration.ofMinutes(1));
+        registry.addCancelListener(OTHER_WORKER_ID, cancelContext -> { });
+        registry.poll();
+        Timestamp leaseExpiry = jdbcTemplate.queryForObject("SELECT lease_expiry FROM computation_run_owner WHERE result_uuid = ?",
+                Timestamp.class, RESULT_UUID);
+        assertThat(leaseExpiry.toInstant()).isAfter(Instant.now().plusSeconds(30));
+        assertThat(registry.tryLeaseRun(RESULT_UUID, WORKER_ID)).isFalse();
+    }
+
+    @Test
+    void registeredRunIsTakenOver() {
+        registry.registerRun(RESULT_UUID, WORKER_ID);
+        registry.registerRun(RESULT_UUID, OTHER_WORKER_ID);
+
+        assertThat(registry.getRunOwner(RESULT_UUID)).contains(OTHER_WORKER_ID);
+        assertThat(registry.unregisterRun(RESULT_UUID, WORKER_ID)).isFalse();
+    }
+
+    @Test
+    void cancelRequestIsDeliveredOnceToTheRunOwner() {
+        List<CancelContext> workerRequests = new ArrayList<>();
+        List<CancelContext> otherWorkerRequests = new ArrayList<>();
+        registry.addCancelListener(WORKER_ID, workerRequests::add);
+        registry.addCancelListener(OTHER_WORKER_ID, otherWorkerRequests::add);
+        registry.registerRun(RESULT_UUID, WORKER_ID);
+        CancelContext cancelContext = new CancelContext(RESULT_UUID, "receiver", "user");
+
+        registry.requestCancel(cancelContext);
+        // a second request replaces the first one
+        registry.requestCancel(cancelContext);
+        registry.poll();
+        registry.poll();
+
+        assertThat(workerRequests).containsExactly(cancelContext);
+        assertThat(otherWorkerRequests).isEmpty();
+        assertThat(registry.getCancelRequest(RESULT_UUID)).contains(cancelContext);
+    }
+
+    @Test
+    void removedCancelRequestIsDeletedForEveryWorker() {
+        registry.requestCancel(new CancelContext(RESULT_UUID, "receiver", "user"));
+        registry.requestCancel(new CancelContext(OTHER_RESULT_UUID, "receiver", "user"));
+
+        registry.removeCancelRequest(RESULT_UUID);
+
+        assertThat(countRows("computation_cancel_request")).isOne();
+        // as seen by another instance
+        try (JdbcCancellationRegistry otherRegistry = new JdbcCancellationRegistry(jdbcTemplate, Duration.ofHours(1), POLL_PERIOD)) {
+            assertThat(otherRegistry.getCancelRequest(RESULT_UUID)).isEmpty();
+            assertThat(otherRegistry.getCancelRequest(OTHER_RESULT_UUID)).isPresent();
+        }
+    }
+
+    @Test
+    void expiredCancelRequestIsDeleted() {
+        registry.close();
+        registry = new JdbcCancellationRegistry(jdbcTemplate, Duration.ZERO, POLL_PERIOD);
+        registry.requestCancel(new CancelContext(RESULT_UUID, "receiver", "user"));
+
+        assertThat(registry.getCancelRequest(RESULT_UUID)).isEmpty();
+        registry.poll();
+        assertThat(countRows("computation_cancel_request")).isZero();
+    }
+
+    @Test
+    void latestRunIsKeptUntilItExpires() {
+        registry.recordLatestRun("key", RESULT_UUID);
+        registry.recordLatestRun("key", OTHER_RESULT_UUID);
+        registry.poll();
+        assertThat(registry.getLatestRun("key")).contains(OTHER_RESULT_UUID);
+        assertThat(countRows("computation_latest_run")).isOne();
+    }
+
+    @Test
+    void expiredLatestRunIsDeleted() {
+        registry.close();
+        registry = new JdbcCancellationRegistry(jdbcTemplate, Duration.ZERO, POLL_PERIOD);
+        registry.recordLatestRun("key", RESULT_UUID);
+
+        assertThat(registry.getLatestRun("key")).isEmpty();
+        registry.poll();
+        assertThat(countRows("computation_latest_run")).isZero();
+    }
+}
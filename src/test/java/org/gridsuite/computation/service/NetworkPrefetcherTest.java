@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.iidm.network.Network;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class NetworkPrefetcherTest {
+    private static final UUID RESULT_UUID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID RESULT_UUID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    private final Network network1 = mock(Network.class);
+    private final Network network2 = mock(Network.class);
+    private final List<Network> discardedNetworks = new CopyOnWriteArrayList<>();
+
+    @Test
+    void nextNetworkIsLoadedWhileCurrentRunHoldsTheSlot() throws Exception {
+        NetworkPrefetcher prefetcher = new NetworkPrefetcher(1, 1);
+        assertSame(network1, prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_1, () -> network1, Runnable::run, discardedNetworks::add));
+
+        CountDownLatch loaded = new CountDownLatch(1);
+        CompletableFuture<Network> nextRun = CompletableFuture.supplyAsync(() -> prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_2, () -> {
+            loaded.countDown();
+            return network2;
+        }, Runnable::run, discardedNetworks::add));
+
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        assertFalse(nextRun.isDone());
+
+        prefetcher.releaseRunSlot();
+        assertSame(network2, nextRun.get(5, TimeUnit.SECONDS));
+        assertTrue(discardedNetworks.isEmpty());
+    }
+
+    @Test
+    void cancelledWaitingRunDropsItsPrefetchedNetwork() throws Exception {
+        NetworkPrefetcher prefetcher = new NetworkPrefetcher(1, 1);
+        prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_1, () -> network1, Runnable::run, discardedNetworks::add);
+
+        CountDownLatch loaded = new CountDownLatch(1);
+        CompletableFuture<Network> nextRun = CompletableFuture.supplyAsync(() -> prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_2, () -> {
+            loaded.countDown();
+            return network2;
+        }, Runnable::run, discardedNetworks::add));
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+
+        assertTrue(prefetcher.cancel(RESULT_UUID_2));
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> nextRun.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(CancellationException.class, exception.getCause());
+        assertEquals(List.of(network2), discardedNetworks);
+
+        // the slot is still owned by the first run only
+        assertFalse(prefetcher.cancel(RESULT_UUID_1));
+        prefetcher.releaseRunSlot();
+        assertSame(network1, prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_1, () -> network1, Runnable::run, discardedNetworks::add));
+    }
+
+    @Test
+    void networkIsLoadedWithTheRunSlotWhenPrefetchBufferIsFull() {
+        NetworkPrefetcher prefetcher = new NetworkPrefetcher(2, 0);
+        assertSame(network1, prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_1, () -> network1, Runnable::run, discardedNetworks::add));
+        assertFalse(prefetcher.cancel(RESULT_UUID_1));
+        assertThrows(IllegalStateException.class, () -> prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_2, () -> {
+            throw new IllegalStateException("network not found");
+        }, Runnable::run, discardedNetworks::add));
+        // the slot taken by the failed load has been given back
+        assertSame(network2, prefetcher.acquireRunSlotAndNetwork(RESULT_UUID_2, () -> network2, Runnable::run, discardedNetworks::add));
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.iidm.network.IdentifiableType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NetworkStoreFetchRecorderTest {
+
+    private static final String NETWORK_URL = "/networks/{networkId}/{variantNum}";
+
+    interface StoreClient {
+        List<String> getAll(String url, Object... uriVariables);
+
+        void updateAll(String url, List<String> resources);
+    }
+
+    private final List<String> requestedUrls = new ArrayList<>();
+
+    private final StoreClient client = NetworkStoreFetchRecorder.wrap(StoreClient.class, new StoreClient() {
+        @Override
+        public List<String> getAll(String url, Object... uriVariables) {
+            if (url.endsWith("/failing")) {
+                throw new IllegalStateException("store unavailable");
+            }
+            requestedUrls.add(url);
+            return url.endsWith("/generators") ? List.of("generator1", "generator2") : List.of("equipment");
+        }
+
+        @Override
+        public void updateAll(String url, List<String> resources) {
+            requestedUrls.add(url);
+        }
+    });
+
+    private final ExecutorService executor = new ResourceAccountingExecutorService(Executors.newSingleThreadExecutor());
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void onlyTheFetchesAfterTheLoadAreCounted() throws Exception {
+        ComputationResourceUsage usage = new ComputationResourceUsage();
+
+        usage.measure(() -> {
+            // network load and preload of the declared collections
+            client.getAll(NETWORK_URL + "/generators", "network", 0);
+            usage.recordNetworkFetches();
+            // lazy loads during the run, on the computation threads too
+            client.getAll(NETWORK_URL + "/voltage-levels/{voltageLevelId}/loads", "network", 0, "vl");
+            executor.submit(() -> client.getAll(NETWORK_URL + "/loads/{loadId}", "network", 0, "load")).get();
+            client.getAll(NETWORK_URL + "/vsc-converter-stations", "network", 0);
+            client.updateAll(NETWORK_URL + "/lines", List.of());
+        });
+
+        assertThat(usage.getNetworkFetches()).containsOnly(
+                Map.entry(IdentifiableType.LOAD, 2L),
+                Map.entry(IdentifiableType.HVDC_CONVERTER_STATION, 1L));
+        // the preloaded generators are loaded as well
+        assertThat(usage.getFetchedEquipmentCount()).isEqualTo(5);
+        assertThat(requestedUrls).hasSize(5);
+    }
+
+    @Test
+    void fetchesOutsideOfARunAreIgnored() {
+        client.getAll(NETWORK_URL + "/generators", "network", 0);
+
+        assertThat(requestedUrls).hasSize(1);
+        assertThatThrownBy(() -> client.getAll(NETWORK_URL + "/failing", "network", 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("store unavailable");
+    }
+
+    @Test
+    void collectionIsTheLastCollectionOfTheUrl() {
+        assertThat(NetworkStoreFetchRecorder.getCollection(NETWORK_URL + "/2-windings-transformers")).isEqualTo(IdentifiableType.TWO_WINDINGS_TRANSFORMER);
+        assertThat(NetworkStoreFetchRecorder.getCollection(NETWORK_URL + "/voltage-levels/{voltageLevelId}/configured-buses")).isEqualTo(IdentifiableType.BUS);
+        assertThat(NetworkStoreFetchRecorder.getCollection(NETWORK_URL + "/generators/{generatorId}?limit=10")).isEqualTo(IdentifiableType.GENERATOR);
+        assertThat(NetworkStoreFetchRecorder.getCollection(NETWORK_URL + "/identifiables/{id}")).isNull();
+        assertThat(NetworkStoreFetchRecorder.getCollection("/reports/{reportUuid}")).isNull();
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PreRunTasksTest {
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void tasksRunConcurrentlyUntilJoined() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        List<String> done = new CopyOnWriteArrayList<>();
+        try (PreRunTasks preRunTasks = new PreRunTasks(executor)) {
+            preRunTasks.fork(() -> awaitOther(bothStarted, done, "report"));
+            preRunTasks.fork(() -> awaitOther(bothStarted, done, "prefetch"));
+            preRunTasks.join();
+        }
+        assertThat(done).containsExactlyInAnyOrder("report", "prefetch");
+    }
+
+    @Test
+    void firstFailureCancelsTheOtherTasks() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (PreRunTasks preRunTasks = new PreRunTasks(executor)) {
+            preRunTasks.fork(() -> {
+                started.countDown();
+                try {
+                    Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    Thread.currentThread().interrupt();
+                }
+            });
+            started.await();
+            preRunTasks.fork(() -> {
+                throw new IllegalStateException("Report server unavailable");
+            });
+            assertThatThrownBy(preRunTasks::join).isInstanceOf(IllegalStateException.class).hasMessage("Report server unavailable");
+        }
+        assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void tasksRunImmediatelyWithoutExecutor() {
+        List<String> done = new CopyOnWriteArrayList<>();
+        try (PreRunTasks preRunTasks = new PreRunTasks(null)) {
+            preRunTasks.fork(() -> done.add("report"));
+            assertThat(done).containsExactly("report");
+            preRunTasks.join();
+        }
+    }
+
+    private static void awaitOther(CountDownLatch bothStarted, List<String> done, String name) {
+        bothStarted.countDown();
+        try {
+            // completes only if the other task runs at the same time
+            if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                done.add(name);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.commons.report.ReportNode;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportFlusherTest {
+    private final AtomicLong nanos = new AtomicLong();
+    private final List<ReportNode> sentReports = new ArrayList<>();
+
+    private static ReportNode newRoot() {
+        return ReportNode.newRootReportNode().withResourceBundles("i18n.reports").withMessageTemplate("test").build();
+    }
+
+    private static ReportFlusher.Section newSection() {
+        ReportNode root = newRoot();
+        return new ReportFlusher.Section(root, root.newReportNode().withMessageTemplate("test").add());
+    }
+
+    @Test
+    void closedSectionsAreSentOncePerFlushPeriod() {
+        ReportNode runReportNode = newRoot();
+        ReportFlusher reportFlusher = new ReportFlusher(runReportNode, ReportFlusherTest::newSection, sentReports::add,
+                Duration.ofSeconds(10), nanos::get);
+        assertThat(reportFlusher.isIncremental()).isTrue();
+
+        ReportNode firstSection = reportFlusher.openSection();
+        ReportNode secondSection = reportFlusher.openSection();
+        assertThat(firstSection).isNotSameAs(runReportNode).isNotSameAs(secondSection);
+        firstSection.newReportNode().withMessageTemplate("test").add();
+        reportFlusher.closeSection(firstSection);
+        assertThat(sentReports).isEmpty();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(11));
+        reportFlusher.closeSection(secondSection);
+        assertThat(sentReports).hasSize(2);
+        assertThat(sentReports.get(0).getChildren()).singleElement().isSameAs(firstSection);
+        assertThat(sentReports.get(1).getChildren()).singleElement().isSameAs(secondSection);
+
+        ReportNode lastSection = reportFlusher.openSection();
+        reportFlusher.closeSection(lastSection);
+        assertThat(sentReports).hasSize(2);
+        reportFlusher.flush();
+        assertThat(sentReports).hasSize(3);
+        assertThatThrownBy(() -> reportFlusher.closeSection(lastSection)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void finishSendsTheClosedSectionsAndDropsTheOpenOnes() {
+        ReportFlusher reportFlusher = new ReportFlusher(newRoot(), ReportFlusherTest::newSection, sentReports::add,
+                Duration.ofSeconds(10), nanos::get);
+        ReportNode closedSection = reportFlusher.openSection();
+        ReportNode openSection = reportFlusher.openSection();
+        reportFlusher.closeSection(closedSection);
+
+        // e.g. the run failed or was cancelled
+        assertThat(reportFlusher.finish()).isOne();
+        assertThat(sentReports).singleElement().satisfies(sentReport -> assertThat(sentReport.getChildren()).singleElement().isSameAs(closedSection));
+
+        // the computation closing its section while stopping
+        reportFlusher.closeSection(openSection);
+        assertThat(reportFlusher.finish()).isZero();
+        reportFlusher.flush();
+        assertThat(sentReports).hasSize(1);
+    }
+
+    @Test
+    void sectionsAreTheRunReportNodeWithoutIncrementalFlushing() {
+        ReportNode runReportNode = newRoot();
+        ReportFlusher reportFlusher = new ReportFlusher(runReportNode);
+
+        ReportNode section = reportFlusher.openSection();
+        reportFlusher.closeSection(section);
+        reportFlusher.flush();
+
+        assertThat(reportFlusher.isIncremental()).isFalse();
+        assertThat(section).isSameAs(runReportNode);
+    }
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.commons.report.ReportConstants;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.TypedValue;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportGovernorTest {
+
+    private static ReportNode newRoot() {
+        return ReportNode.newRootReportNode().withResourceBundles("i18n.reports").withMessageTemplate("test").build();
+    }
+
+    private static void addChildren(ReportNode parent, String messageKey, int count) {
+        for (int i = 0; i < count; i++) {
+            parent.newReportNode().withMessageTemplate(messageKey)
+                    .withUntypedValue("index", i)
+                    .withSeverity(TypedValue.WARN_SEVERITY)
+                    .add();
+        }
+    }
+
+    @Test
+    void reportWithinTheLimitsIsSentAsIs() {
+        ReportNode root = newRoot();
+        addChildren(root, "test", 3);
+
+        ReportGovernor.Governed governed = new ReportGovernor(new ReportGovernorProperties.Limits(10, 3)).govern(root);
+
+        assertThat(governed.isTrimmed()).isFalse();
+        assertThat(governed.reportNode()).isSameAs(root);
+    }
+
+    @Test
+    void repeatedMessagesAreAggregated() {
+        ReportNode root = newRoot();
+        ReportNode contingencies = root.newReportNode().withMessageTemplate("contingencies").add();
+        addChildren(contingencies, "contingencyWarning", 5);
+        addChildren(contingencies.getChildren().get(4), "detail", 2);
+
+        ReportGovernor.Governed governed = new ReportGovernor(new ReportGovernorProperties.Limits(100, 2)).govern(root);
+
+        assertThat(governed.aggregatedNodes()).isEqualTo(5);
+        assertThat(governed.droppedNodes()).isZero();
+        ReportNode governedRoot = governed.reportNode();
+        assertThat(governedRoot).isNotSameAs(root);
+        assertThat(governedRoot.getMessageKey()).isEqualTo("test");
+        List<ReportNode> children = governedRoot.getChildren().get(0).getChildren();
+        assertThat(children).extracting(ReportNode::getMessageKey)
+                .containsExactly("contingencyWarning", "contingencyWarning", ReportGovernor.AGGREGATED_REPORTS_KEY);
+        assertThat(children.get(1).getValue("index")).map(TypedValue::getValue).contains(1);
+        ReportNode summary = children.get(2);
+        assertThat(summary.getValue("count")).map(TypedValue::getValue).contains(3);
+        assertThat(summary.getValue("messageKey")).map(TypedValue::getValue).contains("contingencyWarning");
+        assertThat(summary.getValue(ReportConstants.SEVERITY_KEY)).map(TypedValue::getValue).contains(TypedValue.WARN_SEVERITY.getValue());
+    }
+
+    @Test
+    void nodesBeyondTheSubtreeLimitAreDropped() {
+        ReportNode root = newRoot();
+        ReportNode first = root.newReportNode().withMessageTemplate("test").add();
+        addChildren(first, "test", 6);
+        addChildren(root, "test", 2);
+
+        ReportGovernor.Governed governed = new ReportGovernor(new ReportGovernorProperties.Limits(4, 100)).govern(root);
+
+        // first keeps 3 children, the next root children have no room left
+        assertThat(governed.aggregatedNodes()).isZero();
+        assertThat(governed.droppedNodes()).isEqualTo(5);
+        List<ReportNode> rootChildren = governed.reportNode().getChildren();
+        assertThat(rootChildren).extracting(ReportNode::getMessageKey).containsExactly("test", ReportGovernor.DROPPED_REPORTS_KEY);
+        assertThat(rootChildren.get(1).getValue("count")).map(TypedValue::getValue).contains(2L);
+        List<ReportNode> firstChildren = rootChildren.get(0).getChildren();
+        assertThat(firstChildren).hasSize(4);
+        assertThat(firstChildren.get(3).getMessageKey()).isEqualTo(ReportGovernor.DROPPED_REPORTS_KEY);
+        assertThat(firstChildren.get(3).getValue("count")).map(TypedValue::getValue).contains(3L);
+    }
+
+    @Test
+    void limitsAreConfiguredPerComputationType() {
+        ReportGovernorProperties.Limits defaultLimits = new ReportGovernorProperties.Limits(10000, 100);
+        ReportGovernorProperties.Limits securityAnalysisLimits = new ReportGovernorProperties.Limits(1000, 10);
+        ReportGovernorProperties properties = new ReportGovernorProperties(true, defaultLimits, Map.of("Security analysis", securityAnalysisLimits));
+
+        assertThat(properties.getLimits("Security analysis")).isEqualTo(securityAnalysisLimits);
+        assertThat(properties.getLimits("Loadflow")).isEqualTo(defaultLimits);
+    }
+}
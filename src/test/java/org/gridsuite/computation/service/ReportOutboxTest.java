@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.powsybl.commons.report.ReportNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReportOutboxTest {
+    private static final UUID REPORT_UUID = UUID.fromString("44444444-4444-4444-4444-444444444444");
+
+    private final ReportService reportService = mock(ReportService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ReportOutbox reportOutbox;
+
+    @TempDir
+    private Path spillDirectory;
+
+    @AfterEach
+    void tearDown() {
+        reportOutbox.close();
+    }
+
+    private void startOutbox(int maxInMemoryReports) {
+        startOutbox(10, maxInMemoryReports, Duration.ofSeconds(5));
+    }
+
+    private void startOutbox(int maxPendingReports, int maxInMemoryReports, Duration resultWaitTimeout) {
+        ReportOutboxProperties properties = new ReportOutboxProperties(true, maxPendingReports, maxInMemoryReports, spillDirectory, 1, 3,
+                Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(5), resultWaitTimeout);
+        reportOutbox = new ReportOutbox(reportService, properties, meterRegistry);
+    }
+
+    private static ReportNode newReport(String messageKey) {
+        return ReportNode.newRootReportNode().withResourceBundles("i18n.reports").withMessageTemplate(messageKey).build();
+    }
+
+    @Test
+    void deletionDropsThePendingUploads() throws InterruptedException {
+        startOutbox(10);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstDeletionStarted = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            firstDeletionStarted.countDown();
+            release.await();
+            return null;
+        }).doNothing().when(reportService).deleteReport(REPORT_UUID);
+        ReportNode droppedReport = newReport("dropped");
+        ReportNode lastReport = newReport("last");
+
+        reportOutbox.deleteReport(REPORT_UUID);
+        firstDeletionStarted.await();
+        reportOutbox.sendReport(REPORT_UUID, droppedReport);
+        reportOutbox.deleteReport(REPORT_UUID);
+        reportOutbox.sendReport(REPORT_UUID, lastReport);
+        release.countDown();
+
+        awaitDelivery();
+        InOrder inOrder = inOrder(reportService);
+        inOrder.verify(reportService, times(2)).deleteReport(REPORT_UUID);
+        inOrder.verify(reportService).sendReport(REPORT_UUID, lastReport);
+        verify(reportService, never()).sendReport(REPORT_UUID, droppedReport);
+    }
+
+    @Test
+    void failedDeliveryIsRetriedThenDropped() throws InterruptedException {
+        startOutbox(10);
+        ReportNode report = newReport("test");
+        doThrow(new IllegalStateException("Report server unavailable")).doNothing().when(reportService).sendReport(REPORT_UUID, report);
+        doThrow(new IllegalStateException("Report server unavailable")).when(reportService).deleteReport(REPORT_UUID);
+
+        reportOutbox.sendReport(REPORT_UUID, report);
+        verify(reportService, timeout(5000).times(2)).sendReport(REPORT_UUID, report);
+        awaitDelivery();
+
+        reportOutbox.deleteReport(REPORT_UUID);
+        verify(reportService, timeout(5000).times(3)).deleteReport(REPORT_UUID);
+        awaitDelivery();
+        assertThat(meterRegistry.get("app.computation.report.outbox.retries").functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("app.computation.report.outbox.dropped").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsBeyondTheMemoryLimitAreSpilled() throws Exception {
+        startOutbox(0);
+        ReportNode report = newReport("test");
+        doAnswer(invocation -> {
+            invocation.getArgument(0, OutputStream.class).write("{}".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(reportService).writeReport(any(), any());
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            assertThat(Files.readString(invocation.getArgument(1, Path.class))).isEqualTo("{}");
+            release.await();
+            return null;
+        }).when(reportService).sendReport(eq(REPORT_UUID), any(Path.class));
+
+        reportOutbox.sendReport(REPORT_UUID, report);
+        assertThat(reportOutbox.getSpilledReportCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("app.computation.report.outbox.spilled").gauge().value()).isEqualTo(1);
+        release.countDown();
+
+        awaitDelivery();
+        verify(reportService, never()).sendReport(REPORT_UUID, report);
+        assertThat(reportOutbox.getSpilledReportCount()).isZero();
+        try (var files = Files.list(spillDirectory)) {
+            assertThat(files.toList()).isEmpty();
+        }
+    }
+
+    @Test
+    void closeDrainsThePendingReports() {
+        startOutbox(10);
+        ReportNode report = newReport("test");
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return null;
+        }).when(reportService).sendReport(REPORT_UUID, report);
+
+        reportOutbox.sendReport(REPORT_UUID, report);
+        reportOutbox.close();
+
+        verify(reportService).sendReport(REPORT_UUID, report);
+        assertThat(reportOutbox.getPendingReportCount()).isZero();
+        assertThatThrownBy(() -> reportOutbox.sendReport(REPORT_UUID, report)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void runsWaitBeyondTheMaxPendingReports() throws Exception {
+        startOutbox(1, 10, Duration.ofSeconds(5));
+        UUID otherReportUuid = UUID.randomUUID();
+        ReportNode report = newReport("test");
+        ReportNode otherReport = newReport("other");
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(reportService).sendReport(REPORT_UUID, report);
+
+        reportOutbox.sendReport(REPORT_UUID, report);
+        // a report already pending is not limited
+        reportOutbox.deleteReport(REPORT_UUID);
+        CompletableFuture<Void> otherSend = CompletableFuture.runAsync(() -> reportOutbox.sendReport(otherReportUuid, otherReport));
+        assertThatThrownBy(() -> otherSend.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(reportOutbox.getPendingReportCount()).isOne();
+        release.countDown();
+
+        otherSend.get(5, TimeUnit.SECONDS);
+        awaitDelivery();
+        verify(reportService).sendReport(otherReportUuid, otherReport);
+    }
+
+    @Test
+    void resultWaitsForTheDeliveryOfTheReport() throws InterruptedException {
+        startOutbox(10, 10, Duration.ofMillis(100));
+        ReportNode report = newReport("test");
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(reportService).sendReport(REPORT_UUID, report);
+        doThrow(new IllegalStateException("Report server unavailable")).when(reportService).deleteReport(REPORT_UUID);
+
+        assertThat(reportOutbox.awaitDelivery(REPORT_UUID)).isTrue();
+        reportOutbox.sendReport(REPORT_UUID, report);
+        assertThat(reportOutbox.awaitDelivery(REPORT_UUID)).isFalse();
+        CompletableFuture<Boolean> delivered = CompletableFuture.supplyAsync(() -> reportOutbox.awaitDelivery(REPORT_UUID));
+        release.countDown();
+        assertThat(delivered.join()).isTrue();
+
+        // a dropped delivery leaves the report missing
+        reportOutbox.deleteReport(REPORT_UUID);
+        assertThat(reportOutbox.awaitDelivery(REPORT_UUID)).isFalse();
+        awaitDelivery();
+        assertThat(meterRegistry.get("app.computation.report.outbox.dropped").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void resultDoesNotWaitForTheReportByDefault() throws InterruptedException {
+        startOutbox(10, 10, Duration.ZERO);
+        ReportNode report = newReport("test");
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            release.await();
+            return null;
+        }).when(reportService).sendReport(REPORT_UUID, report);
+
+        reportOutbox.sendReport(REPORT_UUID, report);
+        long startTime = System.nanoTime();
+        assertThat(reportOutbox.awaitDelivery(REPORT_UUID)).isFalse();
+        assertThat(Duration.ofNanos(System.nanoTime() - startTime)).isLessThan(Duration.ofSeconds(1));
+
+        release.countDown();
+        awaitDelivery();
+        assertThat(reportOutbox.awaitDelivery(REPORT_UUID)).isTrue();
+    }
+
+    private void awaitDelivery() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reportOutbox.getPendingReportCount() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(reportOutbox.getPendingReportCount()).isZero();
+    }
+}
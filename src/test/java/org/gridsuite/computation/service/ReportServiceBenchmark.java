@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.powsybl.commons.report.ReportNode;
+import com.powsybl.commons.report.ReportNodeJsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Sending of a large synthetic report, streamed into the request body, against its former serialization into a
+ * String sent as the request entity. Run with the main method, add "-prof gc" to the options to compare the
+ * allocations per report to its size : the streamed report allocates a small fraction of it, the String several
+ * times its size, which is also the heap peak of each report sent.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ReportServiceBenchmark {
+    private static final UUID REPORT_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
+    private static final String REPORT_SERVER_URI = "http://report-server/";
+
+    // 300 MB of JSON by default, the nodes sharing their value
+    @Param("150000")
+    private int nodeCount;
+
+    private ObjectMapper objectMapper;
+    private RestTemplate restTemplate;
+    private ReportService reportService;
+    private ReportNode reportNode;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new ReportNodeJsonModule());
+        restTemplate = new RestTemplate(new CountingClientHttpRequestFactory());
+        RestTemplateBuilder restTemplateBuilder = mock(RestTemplateBuilder.class);
+        when(restTemplateBuilder.build()).thenReturn(restTemplate);
+        reportService = new ReportService(objectMapper, REPORT_SERVER_URI, restTemplateBuilder);
+        reportNode = ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports")
+                .withMessageTemplate("test")
+                .build();
+        String detail = "x".repeat(2000);
+        for (int i = 0; i < nodeCount; i++) {
+            reportNode.newReportNode().withMessageTemplate("test").withUntypedValue("detail", detail).add();
+        }
+    }
+
+    @Benchmark
+    public void sendStreamedReport() {
+        reportService.sendReport(REPORT_UUID, reportNode);
+    }
+
+    @Benchmark
+    public void sendReportAsString() throws JsonProcessingException {
+        // serialization of the report before it was streamed
+        String report = objectMapper.writeValueAsString(reportNode);
+        restTemplate.exchange(REPORT_SERVER_URI + "v1/reports/" + REPORT_UUID, HttpMethod.PUT, new HttpEntity<>(report), Void.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ReportServiceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -7,23 +7,37 @@
 
 package org.gridsuite.computation.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.powsybl.commons.report.ReportNode;
 import org.gridsuite.computation.ComputationConfig;
+import org.json.JSONException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.skyscreamer.jsonassert.JSONAssert;
+import org.skyscreamer.jsonassert.JSONCompareMode;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.MockClientHttpRequest;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.test.web.client.match.MockRestRequestMatchers;
 import org.springframework.test.web.client.response.MockRestResponseCreators;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * @author Mathieu Deharbe <mathieu.deharbe_externe at rte-france.com>
@@ -41,9 +55,13 @@ class ReportServiceTest {
     @Autowired
     private MockRestServiceServer server;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @AfterEach
     void tearDown() {
         server.verify();
+        reportService.setGzipRequests(false);
     }
 
     @Test
@@ -60,6 +78,50 @@ class ReportServiceTest {
         assertThatNoException().isThrownBy(() -> reportService.sendReport(REPORT_UUID, reportNode));
     }
 
+    @Test
+    void testSendGzipReport() {
+        final ReportNode reportNode = ReportNode.newRootReportNode()
+                                .withResourceBundles("i18n.reports")
+                                .withMessageTemplate("test")
+                                .build();
+        reportService.setGzipRequests(true);
+        server.expect(MockRestRequestMatchers.method(HttpMethod.PUT))
+                .andExpect(MockRestRequestMatchers.requestTo("http://report-server/v1/reports/" + REPORT_UUID))
+                .andExpect(MockRestRequestMatchers.header(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(request -> {
+                    try (InputStream body = new GZIPInputStream(new ByteArrayInputStream(((MockClientHttpRequest) request).getBodyAsBytes()))) {
+                        JSONAssert.assertEquals(REPORT_JSON, new String(body.readAllBytes(), StandardCharsets.UTF_8), JSONCompareMode.LENIENT);
+                    } catch (JSONException e) {
+                        throw new AssertionError(e);
+                    }
+                })
+                .andRespond(MockRestResponseCreators.withSuccess());
+        assertThatNoException().isThrownBy(() -> reportService.sendReport(REPORT_UUID, reportNode));
+    }
+
+    @Test
+    void testLargeReportIsStreamed() {
+        // about 100 MB of JSON, the nodes sharing their value
+        ReportNode reportNode = ReportNode.newRootReportNode()
+                .withResourceBundles("i18n.reports")
+                .withMessageTemplate("test")
+                .build();
+        String detail = "x".repeat(2000);
+        for (int i = 0; i < 50_000; i++) {
+            reportNode.newReportNode().withMessageTemplate("test").withUntypedValue("detail", detail).add();
+        }
+        CountingClientHttpRequestFactory requestFactory = new CountingClientHttpRequestFactory();
+        RestTemplateBuilder restTemplateBuilder = mock(RestTemplateBuilder.class);
+        when(restTemplateBuilder.build()).thenReturn(new RestTemplate(requestFactory));
+        ReportService streamingReportService = new ReportService(objectMapper, "http://report-server/", restTemplateBuilder);
+
+        streamingReportService.sendReport(REPORT_UUID, reportNode);
+
+        // never serialized into a String or a buffer of the report size before being written
+        assertThat(requestFactory.getByteCount()).isGreaterThan(50_000L * detail.length());
+        assertThat(requestFactory.getMaxWriteSize()).isLessThanOrEqualTo(64 * 1024);
+    }
+
     @Test
     void testSendReportFailed() {
         final ReportNode reportNode = ReportNode.newRootReportNode()
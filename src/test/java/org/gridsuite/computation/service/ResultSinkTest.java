@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResultSinkTest {
+
+    private final ExecutorService writerExecutor = Executors.newCachedThreadPool();
+    private final List<List<Integer>> writtenChunks = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        writerExecutor.shutdownNow();
+    }
+
+    @Test
+    void itemsArePersistedByChunks() {
+        ResultSink<Integer> sink = new ResultSink<>(2, 1, writtenChunks::add, writerExecutor);
+
+        sink.emitAll(List.of(1, 2, 3, 4, 5));
+        sink.complete();
+
+        assertThat(writtenChunks).containsExactly(List.of(1, 2), List.of(3, 4), List.of(5));
+        assertThat(sink.getWrittenItemCount()).isEqualTo(5);
+        assertThatThrownBy(() -> sink.emit(6)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void computationWaitsForASlowWriter() throws InterruptedException {
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        ResultSink<Integer> sink = new ResultSink<>(1, 1, chunk -> {
+            awaitUninterruptibly(releaseWriter);
+            writtenChunks.add(chunk);
+        }, writerExecutor);
+        CountDownLatch allEmitted = new CountDownLatch(1);
+
+        Thread computation = Thread.ofPlatform().start(() -> {
+            IntStream.range(0, 10).forEach(sink::emit);
+            allEmitted.countDown();
+        });
+
+        // one chunk being written, one pending : the computation is held back
+        assertThat(allEmitted.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        releaseWriter.countDown();
+        computation.join();
+        sink.complete();
+        assertThat(writtenChunks).hasSize(10);
+    }
+
+    @Test
+    void writerFailureIsReportedToTheComputation() {
+        ResultSink<Integer> sink = new ResultSink<>(1, 1, chunk -> {
+            throw new IllegalStateException("batch insert failed");
+        }, writerExecutor);
+
+        assertThatThrownBy(() -> {
+            IntStream.range(0, 100).forEach(sink::emit);
+            sink.complete();
+        }).isInstanceOf(IllegalStateException.class).hasMessage("batch insert failed");
+    }
+
+    @Test
+    void abortDropsPendingChunks() {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        ResultSink<Integer> sink = new ResultSink<>(1, 2, chunk -> {
+            writing.countDown();
+            awaitUninterruptibly(releaseWriter);
+            writtenChunks.add(chunk);
+        }, writerExecutor);
+        sink.emit(1);
+        awaitUninterruptibly(writing);
+        sink.emit(2);
+        sink.emit(3);
+
+        // let the writer go once the abort waits for it
+        Thread aborting = Thread.currentThread();
+        Thread.ofPlatform().start(() -> {
+            while (aborting.getState() != Thread.State.WAITING) {
+                Thread.onSpinWait();
+            }
+            releaseWriter.countDown();
+        });
+        sink.abort();
+
+        // the chunk being written when aborted completes, the pending ones are dropped
+        assertThat(writtenChunks).containsExactly(List.of(1));
+        assertThatThrownBy(() -> sink.emit(4)).isInstanceOf(CancellationException.class);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent runs cancelled on distinct results : the worker-wide lock taken by the run submissions and by the cancel
+ * requests, held during the deletion of the cancelled results, against the per-result run handles. Run with the
+ * main method, the deletion cost is in JMH CPU tokens.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class RunCancellationBenchmark {
+
+    @Param({"0", "1000"})
+    private long resultDeletionTokens;
+
+    private final Lock lockRunAndCancel = new ReentrantLock();
+    private final Map<UUID, CompletableFuture<Object>> futures = new ConcurrentHashMap<>();
+    private final Map<UUID, ComputationRunHandle<Object>> runHandles = new ConcurrentHashMap<>();
+
+    private static UUID newResultUuid() {
+        // UUID.randomUUID would contend on its secure random
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    @Benchmark
+    public boolean runAndCancelWithGlobalLock() {
+        // run submission and cancel request before the run handles
+        UUID resultUuid = newResultUuid();
+        lockRunAndCancel.lock();
+        try {
+            futures.put(resultUuid, new CompletableFuture<>());
+        } finally {
+            lockRunAndCancel.unlock();
+        }
+        lockRunAndCancel.lock();
+        try {
+            boolean cancelled = futures.remove(resultUuid).cancel(true);
+            Blackhole.consumeCPU(resultDeletionTokens);
+            return cancelled;
+        } finally {
+            lockRunAndCancel.unlock();
+        }
+    }
+
+    @Benchmark
+    public boolean runAndCancelWithRunHandles() {
+        UUID resultUuid = newResultUuid();
+        ComputationRunHandle<Object> runHandle = runHandles.computeIfAbsent(resultUuid, uuid -> new ComputationRunHandle<>(new CancellationToken()));
+        runHandle.start(new CompletableFuture<>());
+        boolean cancelled = runHandle.cancel();
+        if (cancelled) {
+            Blackhole.consumeCPU(resultDeletionTokens);
+        }
+        runHandles.remove(resultUuid).finish();
+        return cancelled;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RunCancellationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunHandleFuturesTest {
+    private static final UUID RESULT_UUID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private final Map<UUID, ComputationRunHandle<Object>> runHandles = new ConcurrentHashMap<>();
+    private final RunHandleFutures<Object> futures = new RunHandleFutures<>(runHandles);
+
+    @Test
+    void futurePutIsStartedOnTheRunHandle() {
+        ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>();
+        runHandles.put(RESULT_UUID, runHandle);
+        assertThat(futures).isEmpty();
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        futures.put(RESULT_UUID, future);
+
+        assertThat(futures).containsEntry(RESULT_UUID, future);
+        assertThat(runHandle.cancel()).isTrue();
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void futurePutOnCancelledRunIsCancelled() {
+        ComputationRunHandle<Object> runHandle = new ComputationRunHandle<>();
+        runHandles.put(RESULT_UUID, runHandle);
+        runHandle.cancel();
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        futures.put(RESULT_UUID, future);
+
+        assertThat(future).isCancelled();
+    }
+
+    @Test
+    void futurePutWithoutRunHandleCreatesIt() {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        futures.put(RESULT_UUID, future);
+
+        assertThat(runHandles.get(RESULT_UUID).getFuture()).isSameAs(future);
+        assertThat(futures.remove(RESULT_UUID)).isSameAs(future);
+        assertThat(runHandles).isEmpty();
+    }
+}
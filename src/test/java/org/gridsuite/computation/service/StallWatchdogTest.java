@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package org.gridsuite.computation.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StallWatchdogTest {
+    private static final UUID RESULT_UUID = UUID.fromString("33333333-3333-3333-3333-333333333333");
+    private static final UUID NETWORK_UUID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ComputationRunRegistry runRegistry = new ComputationRunRegistry();
+    private final List<CancelContext> cancelledRuns = new CopyOnWriteArrayList<>();
+    private final AbstractComputationRunContext<Object> runContext = new AbstractComputationRunContext<>(NETWORK_UUID, null,
+            "receiver", null, "userId", "provider", null) { };
+    private StallWatchdog watchdog;
+
+    @AfterEach
+    void tearDown() {
+        watchdog.close();
+    }
+
+    private void startWatchdog(boolean cancelStalledRuns) {
+        // checked by the test only
+        StallWatchdogProperties properties = new StallWatchdogProperties(true, Duration.ofHours(1), null,
+                Map.of(ComputationPhase.NETWORK_LOAD, Duration.ofMinutes(1)), cancelStalledRuns);
+        watchdog = new StallWatchdog(properties, meterRegistry);
+        watchdog.watch("computation", runRegistry, cancelledRuns::add);
+        runRegistry.register(RESULT_UUID, "computation", runContext);
+    }
+
+    private void enterPhase(ComputationPhase phase, Duration elapsed) {
+        runContext.setPhaseProgress(new AbstractComputationRunContext.PhaseProgress(phase, System.nanoTime() - elapsed.toNanos(), Thread.currentThread()));
+    }
+
+    @Test
+    void runOverBudgetIsReportedOncePerPhaseAndCancelled() {
+        startWatchdog(true);
+
+        enterPhase(ComputationPhase.NETWORK_LOAD, Duration.ofSeconds(10));
+        watchdog.check();
+        assertThat(cancelledRuns).isEmpty();
+
+        enterPhase(ComputationPhase.NETWORK_LOAD, Duration.ofMinutes(2));
+        watchdog.check();
+        watchdog.check();
+
+        assertThat(meterRegistry.get("app.computation.stalled").tag("phase", ComputationPhase.NETWORK_LOAD.getTagValue()).counter().count()).isEqualTo(1);
+        assertThat(cancelledRuns).containsExactly(new CancelContext(RESULT_UUID, "receiver", "userId"));
+    }
+
+    @Test
+    void stalledCounterIsRegisteredOnce() {
+        startWatchdog(false);
+
+        enterPhase(ComputationPhase.NETWORK_LOAD, Duration.ofMinutes(2));
+        watchdog.check();
+        int meterCount = meterRegistry.getMeters().size();
+        // the same phase entered again, e.g. by the next run
+        enterPhase(ComputationPhase.NETWORK_LOAD, Duration.ofMinutes(3));
+        watchdog.check();
+
+        assertThat(meterRegistry.getMeters()).hasSize(meterCount);
+        assertThat(meterRegistry.get("app.computation.stalled").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void phasesWithoutBudgetAreNotWatched() {
+        startWatchdog(false);
+
+        enterPhase(ComputationPhase.RUN, Duration.ofHours(10));
+        watchdog.check();
+
+        assertThat(meterRegistry.find("app.computation.stalled").counter()).isNull();
+        assertThat(cancelledRuns).isEmpty();
+    }
+
+    @Test
+    void computationThreadsAreReportedDuringTheRunPhase() throws Exception {
+        startWatchdog(false);
+        ExecutorService executor = new ResourceAccountingExecutorService(Executors.newSingleThreadExecutor());
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            enterPhase(ComputationPhase.NETWORK_LOAD, Duration.ZERO);
+            assertThat(StallWatchdog.getStalledThreads(runContext, runContext.getPhaseProgress())).containsExactly(Thread.currentThread());
+
+            enterPhase(ComputationPhase.RUN, Duration.ZERO);
+            runContext.getResourceUsage().measure(() -> {
+                Future<Thread> computationThread = executor.submit(() -> {
+                    Thread thread = Thread.currentThread();
+                    release.await();
+                    return thread;
+                });
+                // the consumer thread waiting for the computation is not reported
+                await(() -> StallWatchdog.getStalledThreads(runContext, runContext.getPhaseProgress()).get(0) != Thread.currentThread());
+                List<Thread> stalledThreads = StallWatchdog.getStalledThreads(runContext, runContext.getPhaseProgress());
+                release.countDown();
+                assertThat(stalledThreads).containsExactly(computationThread.get());
+            });
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    @Test
+    void stalledRunIsNotCancelledUnlessConfigured() {
+        startWatchdog(false);
+
+        enterPhase(ComputationPhase.NETWORK_LOAD, Duration.ofMinutes(2));
+        watchdog.check();
+        runRegistry.unregister(RESULT_UUID);
+        watchdog.check();
+
+        assertThat(meterRegistry.get("app.computation.stalled").counter().count()).isEqualTo(1);
+        assertThat(cancelledRuns).isEmpty();
+    }
+}